@@ -0,0 +1,96 @@
+package poker.eval;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * A BatchEvaluator that uses the incubating Vector API to compute the value masks of several hands at once: each
+ * vector lane holds the card mask of one hand, which is split into its suit lanes and combined to the masks of the
+ * values held at least once, twice, three or four times. The remaining steps, i. e. finding a flush within the
+ * suit lanes, the straight table lookups and the encoding of the strength, are data dependent and are finished per
+ * hand by the scalar FastEvaluator, so both evaluators always compute the same strengths.
+ *
+ * This class is only compiled by the vector profile (see pom.xml) and needs the JVM option --add-modules
+ * jdk.incubator.vector. Use BatchEvaluator.createVectorEvaluator() to get it where available. Instances keep scratch buffers and
+ * must not be shared between threads.
+ *
+ */
+public class VectorBatchEvaluator implements BatchEvaluator {
+
+	private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+	private final FastEvaluator evaluator;
+	private final long[] clubLanes = new long[SPECIES.length()];
+	private final long[] diamondLanes = new long[SPECIES.length()];
+	private final long[] heartLanes = new long[SPECIES.length()];
+	private final long[] spadeLanes = new long[SPECIES.length()];
+	private final long[] single = new long[SPECIES.length()];
+	private final long[] pairs = new long[SPECIES.length()];
+	private final long[] threes = new long[SPECIES.length()];
+	private final long[] fours = new long[SPECIES.length()];
+
+	public VectorBatchEvaluator() {
+		this(GameVariant.STANDARD);
+	}
+
+	/**
+	 * @param variant The variant hands are evaluated for
+	 */
+	public VectorBatchEvaluator(final GameVariant variant) {
+		this.evaluator = new FastEvaluator(variant);
+	}
+
+	/************************ Public methods ***********************/
+
+	@Override
+	public void evaluateAll(final long[] cards, final int[] strengths, final int hands) {
+
+		int lanes = SPECIES.length();
+		int bound = SPECIES.loopBound(hands);
+		int hand = 0;
+
+		for(; hand < bound; hand += lanes) {
+			LongVector vector = LongVector.fromArray(SPECIES, cards, hand);
+			LongVector clubs = vector.and(PackedCard.VALUE_BITS);
+			LongVector diamonds = vector.lanewise(VectorOperators.LSHR, 16).and(PackedCard.VALUE_BITS);
+			LongVector hearts = vector.lanewise(VectorOperators.LSHR, 32).and(PackedCard.VALUE_BITS);
+			LongVector spades = vector.lanewise(VectorOperators.LSHR, 48);
+			clubs.intoArray(clubLanes, 0);
+			diamonds.intoArray(diamondLanes, 0);
+			hearts.intoArray(heartLanes, 0);
+			spades.intoArray(spadeLanes, 0);
+
+			LongVector clubsAndDiamonds = clubs.and(diamonds);
+			LongVector heartsAndSpades = hearts.and(spades);
+			LongVector clubsOrDiamonds = clubs.or(diamonds);
+			LongVector heartsOrSpades = hearts.or(spades);
+
+			clubsOrDiamonds.or(heartsOrSpades).intoArray(single, 0);
+			clubsAndDiamonds.or(heartsAndSpades).or(clubsOrDiamonds.and(heartsOrSpades)).intoArray(pairs, 0);
+			clubsAndDiamonds.and(heartsOrSpades).or(heartsAndSpades.and(clubsOrDiamonds)).intoArray(threes, 0);
+			clubsAndDiamonds.and(heartsAndSpades).intoArray(fours, 0);
+
+			for(int lane = 0; lane < lanes; lane++) {
+				int flush = FastEvaluator.flushValues((int)clubLanes[lane], (int)diamondLanes[lane], (int)heartLanes[lane], (int)spadeLanes[lane]);
+				strengths[hand + lane] = evaluator.evaluate(flush, (int)single[lane], (int)pairs[lane], (int)threes[lane], (int)fours[lane]);
+			}
+		}
+
+		for(; hand < hands; hand++) {
+			strengths[hand] = evaluator.evaluate(cards[hand]);
+		}
+	}
+
+	@Override
+	public GameVariant getVariant() {
+		return evaluator.getVariant();
+	}
+
+	/**
+	 * @return the number of hands whose value masks are computed per vector instruction
+	 */
+	public static int getLanes() {
+		return SPECIES.length();
+	}
+}
@@ -0,0 +1,79 @@
+package poker.bench;
+
+import java.util.SplittableRandom;
+
+import poker.eval.BatchEvaluator;
+import poker.eval.FastEvaluator;
+import poker.eval.GameVariant;
+import poker.eval.PackedCard;
+
+/**
+ * Compares the throughput of the scalar FastEvaluator with the vectorised batch evaluator, which is available if the
+ * library was built with the vector profile and the JVM runs with --add-modules jdk.incubator.vector. Both evaluate
+ * the same random seven card hands; the best of several rounds is reported after a warm-up.
+ *
+ * Arguments: [number of hands] [rounds]
+ *
+ */
+public class BatchEvaluationBenchmark {
+
+	public static void main(final String[] args) {
+
+		int hands = args.length > 0 ? Integer.parseInt(args[0]) : 1 << 20;
+		int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+		long[] cards = randomHands(hands, new SplittableRandom(7L));
+		int[] scalarStrengths = new int[hands];
+		int[] batchStrengths = new int[hands];
+
+		BatchEvaluator scalar = new FastEvaluator(GameVariant.STANDARD);
+		BatchEvaluator batch = BatchEvaluator.createVectorEvaluator(GameVariant.STANDARD);
+		if(null == batch) {
+			System.out.println("The vectorised evaluator is not available, run with --add-modules jdk.incubator.vector");
+			return;
+		}
+
+		// warm up both evaluators, so that both are compiled before they are measured
+		for(int i = 0; i < 5; i++) {
+			scalar.evaluateAll(cards, scalarStrengths, hands);
+			batch.evaluateAll(cards, batchStrengths, hands);
+		}
+
+		long bestScalar = Long.MAX_VALUE;
+		long bestBatch = Long.MAX_VALUE;
+		for(int round = 0; round < rounds; round++) {
+			bestScalar = Math.min(bestScalar, time(scalar, cards, scalarStrengths));
+			bestBatch = Math.min(bestBatch, time(batch, cards, batchStrengths));
+		}
+
+		for(int hand = 0; hand < hands; hand++) {
+			if(scalarStrengths[hand] != batchStrengths[hand]) {
+				throw new IllegalStateException("The evaluators disagree on the card mask " + Long.toHexString(cards[hand]));
+			}
+		}
+
+		System.out.printf("%-24s %8.2f ns/hand%n", scalar.getClass().getSimpleName(), (double)bestScalar / hands);
+		System.out.printf("%-24s %8.2f ns/hand%n", batch.getClass().getSimpleName(), (double)bestBatch / hands);
+		System.out.printf("speedup %.2fx%n", (double)bestScalar / bestBatch);
+	}
+
+	/************************ Private methods *************************/
+
+	private static long time(final BatchEvaluator evaluator, final long[] cards, final int[] strengths) {
+		long start = System.nanoTime();
+		evaluator.evaluateAll(cards, strengths, cards.length);
+		return System.nanoTime() - start;
+	}
+
+	private static long[] randomHands(final int count, final SplittableRandom random) {
+		long[] hands = new long[count];
+		for(int hand = 0; hand < count; hand++) {
+			long cards = 0L;
+			while(Long.bitCount(cards) < 7) {
+				cards |= PackedCard.toMask(random.nextInt(PackedCard.DECK_SIZE));
+			}
+			hands[hand] = cards;
+		}
+		return hands;
+	}
+}
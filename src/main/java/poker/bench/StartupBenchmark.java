@@ -0,0 +1,40 @@
+package poker.bench;
+
+import java.lang.management.ManagementFactory;
+
+import poker.eval.FastEvaluator;
+import poker.eval.GameVariant;
+
+/**
+ * Measures the time to the first evaluation in a fresh JVM, i. e. what a short-lived CLI tool or serverless handler
+ * pays before it can evaluate its first hand: loading the evaluation classes, creating the lookup tables of the
+ * variant and evaluating one hand. Run it once per JVM, e. g. in a shell loop, to compare JVM options such as a Class
+ * Data Sharing archive.
+ *
+ * Arguments: [variant]
+ *
+ */
+public class StartupBenchmark {
+
+	public static void main(final String[] args) {
+
+		long start = System.nanoTime();
+
+		GameVariant variant = args.length > 0 ? GameVariant.valueOf(args[0]) : GameVariant.STANDARD;
+		FastEvaluator evaluator = new FastEvaluator(variant);
+		long created = System.nanoTime();
+
+		int[] deck = variant.getDeck();
+		int strength = evaluator.evaluate(deck, deck.length - 7, 7);
+		long evaluated = System.nanoTime();
+
+		// the management classes are loaded only after the measurement, so that they do not distort it
+		long uptime = ManagementFactory.getRuntimeMXBean().getUptime() - (System.nanoTime() - evaluated) / 1_000_000;
+
+		System.out.printf("variant %s, first strength %d (%s)%n", variant, strength, variant.getRank(strength));
+		System.out.printf("evaluator creation   %8.3f ms%n", (created - start) / 1e6);
+		System.out.printf("first evaluation     %8.3f ms%n", (evaluated - created) / 1e6);
+		System.out.printf("main to first result %8.3f ms%n", (evaluated - start) / 1e6);
+		System.out.printf("JVM start to result  %8d ms%n", uptime);
+	}
+}
@@ -0,0 +1,311 @@
+package poker.equity;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+
+import poker.eval.FastEvaluator;
+import poker.eval.PackedCard;
+import poker.eval.StartingHands;
+
+/**
+ * Computes the exact heads-up all-in equities of pairs of starting hands by enumerating every possible board. All
+ * hands are evaluated with the library's FastEvaluator, so the equities follow the same Ranks as CardHand and the
+ * Ranker.
+ *
+ * As all concrete combinations of a starting hand are equivalent up to a renaming of the suits, the first
+ * starting hand is fixed to one representative combination, and the equity is averaged over all combinations of the
+ * second starting hand that do not share a card with it.
+ *
+ * Matchups are computed in parallel. When a checkpoint file is given, every finished matchup is appended to it, and
+ * matchups found in it are not computed again, so that an interrupted run can be resumed. Every line of the
+ * checkpoint file ends with a checksum of its record; lines with a wrong checksum or a wrong number of fields, such as
+ * the incomplete last line of a killed run, are ignored and their matchups computed again.
+ *
+ */
+public class PreflopEquityGenerator {
+
+	private static final int RECORD_FIELDS = 6;
+
+	private static final byte NEWLINE = '\n';
+
+	private final int threads;
+	private final Path checkpointFile;
+	private int computedMatchups = 0;
+
+	/**
+	 * @param threads The number of matchups to compute in parallel
+	 * @param checkpointFile The file finished matchups are appended to and resumed from, or null for no checkpoints
+	 */
+	public PreflopEquityGenerator(final int threads, final Path checkpointFile) {
+		this.threads = threads;
+		this.checkpointFile = checkpointFile;
+	}
+
+	/************************ Public methods ***********************/
+
+	/**
+	 * Generates a table file of all matchups of all starting hands.
+	 *
+	 * @param args The path of the table file to be written, the path of the checkpoint file, and optionally the
+	 * number of threads, which defaults to the number of available processors
+	 * @throws Exception is thrown when the generation fails
+	 */
+	public static void main(final String[] args) throws Exception {
+		int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+		PreflopEquityGenerator generator = new PreflopEquityGenerator(threads, Paths.get(args[1]));
+		generator.generate().save(Paths.get(args[0]));
+		System.out.println("Computed " + generator.getComputedMatchups() + " matchups and wrote the table to " + args[0]);
+	}
+
+	/**
+	 * @return a table of the equities of all pairs of starting hands
+	 * @throws IOException is thrown when the checkpoint file cannot be read or written
+	 * @throws InterruptedException is thrown when the generation is interrupted
+	 */
+	public PreflopEquityTable generate() throws IOException, InterruptedException {
+		int[] hands = new int[StartingHands.NUMBER_OF_STARTING_HANDS];
+		for(int i = 0; i < hands.length; i++) {
+			hands[i] = i;
+		}
+		return generate(hands);
+	}
+
+	/**
+	 * Generates a partial table, holding the equities of all pairs of the given starting hands only.
+	 *
+	 * @param hands The indexes of the starting hands to be included
+	 * @return a table of the equities of all pairs of the given starting hands, all other equities are NaN
+	 * @throws IOException is thrown when the checkpoint file cannot be read or written
+	 * @throws InterruptedException is thrown when the generation is interrupted
+	 */
+	public PreflopEquityTable generate(final int[] hands) throws IOException, InterruptedException {
+
+		PreflopEquityTable table = new PreflopEquityTable();
+		synchronized(this) {
+			computedMatchups = 0;
+		}
+		boolean[] finished = readCheckpoint(table);
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try(BufferedWriter checkpoint = openCheckpoint()) {
+
+			List<Future<?>> futures = new ArrayList<Future<?>>();
+			for(int i = 0; i < hands.length; i++) {
+				// by symmetry, a starting hand has an equity of one half against itself
+				table.setEquity(hands[i], hands[i], 0.5f);
+
+				for(int j = i + 1; j < hands.length; j++) {
+					int hand1 = hands[i];
+					int hand2 = hands[j];
+					if(!finished[hand1 * StartingHands.NUMBER_OF_STARTING_HANDS + hand2]) {
+						futures.add(executor.submit(() -> {
+							long[] outcomes = countOutcomes(hand1, hand2);
+							record(table, checkpoint, hand1, hand2, outcomes);
+						}));
+					}
+				}
+			}
+
+			for(Future<?> future : futures) {
+				future.get();
+			}
+		} catch (ExecutionException e) {
+			if(e.getCause() instanceof UncheckedIOException) {
+				throw ((UncheckedIOException)e.getCause()).getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+
+		return table;
+	}
+
+	/**
+	 * @return the number of matchups computed by the last generation, not counting the ones resumed from the checkpoint
+	 */
+	public synchronized int getComputedMatchups() {
+		return computedMatchups;
+	}
+
+	/**
+	 * Counts the outcomes of all boards between two starting hands.
+	 *
+	 * @param hand1 The index of the first starting hand
+	 * @param hand2 The index of the second starting hand
+	 * @return the number of boards won by the first hand, the number of split boards, and the total number of boards
+	 */
+	public static long[] countOutcomes(final int hand1, final int hand2) {
+
+		FastEvaluator evaluator = new FastEvaluator();
+		int[] representative = StartingHands.getCombinations(hand1)[0];
+		long hole1 = PackedCard.toMask(representative, 0, 2);
+		long[] outcomes = new long[3];
+		int[] remaining = new int[PackedCard.DECK_SIZE - 4];
+
+		for(int[] combination : StartingHands.getCombinations(hand2)) {
+			long hole2 = PackedCard.toMask(combination, 0, 2);
+			if((hole1 & hole2) != 0L) {
+				continue;
+			}
+
+			int count = 0;
+			for(int card = 0; card < PackedCard.DECK_SIZE; card++) {
+				if(((hole1 | hole2) & PackedCard.toMask(card)) == 0L) {
+					remaining[count++] = card;
+				}
+			}
+			countBoards(evaluator, hole1, hole2, remaining, outcomes);
+		}
+
+		return outcomes;
+	}
+
+	/************************ Private methods *************************/
+
+	private static void countBoards(final FastEvaluator evaluator, final long hole1, final long hole2, final int[] deck, final long[] outcomes) {
+
+		int n = deck.length;
+		long wins = 0L;
+		long ties = 0L;
+		long boards = 0L;
+
+		for(int a = 0; a < n - 4; a++) {
+			long boardA = PackedCard.toMask(deck[a]);
+			for(int b = a + 1; b < n - 3; b++) {
+				long boardB = boardA | PackedCard.toMask(deck[b]);
+				for(int c = b + 1; c < n - 2; c++) {
+					long boardC = boardB | PackedCard.toMask(deck[c]);
+					for(int d = c + 1; d < n - 1; d++) {
+						long boardD = boardC | PackedCard.toMask(deck[d]);
+						for(int e = d + 1; e < n; e++) {
+							long board = boardD | PackedCard.toMask(deck[e]);
+							int strength1 = evaluator.evaluate(hole1 | board);
+							int strength2 = evaluator.evaluate(hole2 | board);
+							if(strength1 > strength2) {
+								wins++;
+							} else if(strength1 == strength2) {
+								ties++;
+							}
+							boards++;
+						}
+					}
+				}
+			}
+		}
+
+		outcomes[0] += wins;
+		outcomes[1] += ties;
+		outcomes[2] += boards;
+	}
+
+	private synchronized void record(final PreflopEquityTable table, final BufferedWriter checkpoint, final int hand1, final int hand2, final long[] outcomes) {
+
+		table.setEquity(hand1, hand2, equity(outcomes));
+		computedMatchups++;
+
+		if(null != checkpoint) {
+			try {
+				String record = hand1 + " " + hand2 + " " + outcomes[0] + " " + outcomes[1] + " " + outcomes[2];
+				checkpoint.write(record + " " + checksum(record));
+				checkpoint.newLine();
+				checkpoint.flush();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	private boolean[] readCheckpoint(final PreflopEquityTable table) throws IOException {
+
+		int size = StartingHands.NUMBER_OF_STARTING_HANDS;
+		boolean[] finished = new boolean[size * size];
+
+		if(null == checkpointFile || !Files.exists(checkpointFile)) {
+			return finished;
+		}
+
+		try(BufferedReader reader = Files.newBufferedReader(checkpointFile, StandardCharsets.UTF_8)) {
+			String line;
+			while((line = reader.readLine()) != null) {
+				String[] fields = line.trim().split(" ");
+				if(fields.length != RECORD_FIELDS) {
+					continue;
+				}
+				String record = line.substring(0, line.lastIndexOf(' '));
+				if(!fields[RECORD_FIELDS - 1].equals(checksum(record))) {
+					continue;
+				}
+				int hand1 = Integer.parseInt(fields[0]);
+				int hand2 = Integer.parseInt(fields[1]);
+				long[] outcomes = { Long.parseLong(fields[2]), Long.parseLong(fields[3]), Long.parseLong(fields[4]) };
+				table.setEquity(hand1, hand2, equity(outcomes));
+				finished[hand1 * size + hand2] = true;
+				finished[hand2 * size + hand1] = true;
+			}
+		}
+		return finished;
+	}
+
+	/**
+	 * Opens the checkpoint file for appending. An incomplete last line, left by a run that was killed while writing
+	 * it, is cut off first, so that the next record starts on a line of its own.
+	 */
+	private BufferedWriter openCheckpoint() throws IOException {
+		if(null == checkpointFile) {
+			return null;
+		}
+
+		FileChannel channel = FileChannel.open(checkpointFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			channel.truncate(endOfLastLine(channel));
+			channel.position(channel.size());
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+		return new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), -1));
+	}
+
+	/**
+	 * @return the length of the file up to and including its last newline
+	 */
+	private static long endOfLastLine(final FileChannel channel) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(1);
+		for(long position = channel.size() - 1; position >= 0; position--) {
+			buffer.clear();
+			channel.read(buffer, position);
+			if(buffer.get(0) == NEWLINE) {
+				return position + 1;
+			}
+		}
+		return 0L;
+	}
+
+	private static String checksum(final String record) {
+		CRC32 crc = new CRC32();
+		crc.update(record.getBytes(StandardCharsets.US_ASCII));
+		return Long.toHexString(crc.getValue());
+	}
+
+	private static float equity(final long[] outcomes) {
+		return (float)((outcomes[0] + outcomes[1] / 2.0) / outcomes[2]);
+	}
+}
@@ -0,0 +1,111 @@
+package poker.equity;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import poker.eval.StartingHands;
+
+/**
+ * The heads-up all-in equities of all pairs of canonical starting hands (see StartingHands), as computed by the
+ * PreflopEquityGenerator. Looking up an equity is a single array access.
+ *
+ * The table is stored in a compact binary file: a magic number, a format version and the number of starting hands,
+ * followed by one float per pair of starting hands, row by row.
+ *
+ */
+public class PreflopEquityTable {
+
+	private static final int MAGIC = 0x50464551; // "PFEQ"
+	private static final int VERSION = 1;
+	private static final int SIZE = StartingHands.NUMBER_OF_STARTING_HANDS;
+
+	private final float[] equities;
+
+	/**
+	 * Creates a table whose equities are all unknown (NaN).
+	 */
+	public PreflopEquityTable() {
+		this.equities = new float[SIZE * SIZE];
+		Arrays.fill(equities, Float.NaN);
+	}
+
+	private PreflopEquityTable(final float[] equities) {
+		this.equities = equities;
+	}
+
+	/************************ Public methods ***********************/
+
+	/**
+	 * Loads a table from a file written by save().
+	 *
+	 * @param file The table file
+	 * @return the loaded table
+	 * @throws IOException is thrown when the file cannot be read or is not a preflop equity table
+	 */
+	public static PreflopEquityTable load(final Path file) throws IOException {
+		try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+
+			if(in.readInt() != MAGIC || in.readInt() != VERSION || in.readInt() != SIZE) {
+				throw new IOException("The file " + file + " does not hold a preflop equity table of version " + VERSION);
+			}
+
+			float[] equities = new float[SIZE * SIZE];
+			for(int i = 0; i < equities.length; i++) {
+				equities[i] = in.readFloat();
+			}
+			return new PreflopEquityTable(equities);
+		}
+	}
+
+	/**
+	 * Writes this table to a file that can be read by load().
+	 *
+	 * @param file The file to be written
+	 * @throws IOException is thrown when the file cannot be written
+	 */
+	public void save(final Path file) throws IOException {
+		try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(SIZE);
+			for(float equity : equities) {
+				out.writeFloat(equity);
+			}
+		}
+	}
+
+	/**
+	 * @param hand1 The index of the first starting hand
+	 * @param hand2 The index of the second starting hand
+	 * @return the share of the pot the first starting hand wins on average against the second one, counting split
+	 * pots as half a win, or NaN if the equity is unknown
+	 */
+	public float getEquity(final int hand1, final int hand2) {
+		return equities[hand1 * SIZE + hand2];
+	}
+
+	/**
+	 * @param hole1 The two packed hole cards of the first player
+	 * @param hole2 The two packed hole cards of the second player
+	 * @return the equity of the first player's starting hand against the second player's starting hand
+	 */
+	public float getEquity(final int[] hole1, final int[] hole2) {
+		return getEquity(StartingHands.indexOf(hole1[0], hole1[1]), StartingHands.indexOf(hole2[0], hole2[1]));
+	}
+
+	/************************ Package-private methods *************************/
+
+	/**
+	 * Sets the equity of a pair of starting hands, and the complementary equity of the reverse pair.
+	 */
+	void setEquity(final int hand1, final int hand2, final float equity) {
+		equities[hand1 * SIZE + hand2] = equity;
+		equities[hand2 * SIZE + hand1] = 1.0f - equity;
+	}
+}
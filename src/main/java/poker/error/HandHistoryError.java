@@ -0,0 +1,29 @@
+package poker.error;
+
+/**
+ * An exception that is thrown, when a hand history does not follow the expected text format.
+ *
+ */
+public class HandHistoryError extends Exception {
+
+	private static final long serialVersionUID = 1L;
+	private final int lineNumber;
+
+	/**
+	 * @param lineNumber The number of the offending line, starting at 1
+	 * @param message A description of the problem
+	 */
+	public HandHistoryError(int lineNumber, String message) {
+		super(message);
+		this.lineNumber = lineNumber;
+	}
+
+	public int getLineNumber() {
+		return lineNumber;
+	}
+
+	@Override
+	public String getMessage() {
+		return "Line " + lineNumber + ": " + super.getMessage();
+	}
+}
@@ -8,14 +8,26 @@ public class HandSizeError extends Exception {
 
 	private static final long serialVersionUID = 1L;
 	private int wrongNumberOfCards = -1;
-	
+	private String expectedNumberOfCards = "5";
+
 	public HandSizeError(int numberOfCards) {
 		super();
 		this.wrongNumberOfCards = numberOfCards;
 	}
-	
+
+	/**
+	 * Constructs an error for card collections that are not regular five card hands, e. g. Omaha hole cards.
+	 *
+	 * @param numberOfCards The number of cards that was actually received
+	 * @param expectedNumberOfCards A human readable description of the accepted number of cards, e. g. "4 or 5"
+	 */
+	public HandSizeError(int numberOfCards, String expectedNumberOfCards) {
+		this(numberOfCards);
+		this.expectedNumberOfCards = expectedNumberOfCards;
+	}
+
 	@Override
 	public String getMessage() {
-		return "Expected a hand to hold 5 cards. Received a hand with " + wrongNumberOfCards + "instead.";
+		return "Expected a hand to hold " + expectedNumberOfCards + " cards. Received a hand with " + wrongNumberOfCards + "instead.";
 	}
 }
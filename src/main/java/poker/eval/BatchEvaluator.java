@@ -0,0 +1,71 @@
+package poker.eval;
+
+/**
+ * An engine that evaluates many card masks (see PackedCard) in one call. Every implementation computes exactly the
+ * same strengths as FastEvaluator does for single card masks.
+ *
+ * The FastEvaluator is the scalar implementation, which is always available and the one create() returns by default.
+ * If the library was built with the vector profile and the JVM runs with the incubator module jdk.incubator.vector
+ * (--add-modules jdk.incubator.vector), a VectorBatchEvaluator is available as well, which computes the value masks
+ * of several hands per instruction. As it still finishes flushes, straights and the encoding per hand, it is not
+ * faster than the scalar implementation (see BatchEvaluationBenchmark), so create() only returns it if the system
+ * property poker.eval.vector is set to true.
+ *
+ */
+public interface BatchEvaluator {
+
+	/** The system property that enables the vectorised implementation if set to true */
+	String VECTOR_PROPERTY = "poker.eval.vector";
+
+	/**
+	 * @param cards An array of card masks, each holding five to seven cards
+	 * @param strengths The array the strength of each card mask is written to, at the index of the mask
+	 * @param hands The number of card masks to be evaluated
+	 */
+	void evaluateAll(long[] cards, int[] strengths, int hands);
+
+	/**
+	 * @return the variant this evaluator ranks hands for
+	 */
+	GameVariant getVariant();
+
+	/**
+	 * Creates a batch evaluator: a FastEvaluator, or a vectorised evaluator if the system property poker.eval.vector
+	 * is set to true and the vectorised evaluator is available in the running JVM. Vectorised evaluators keep scratch
+	 * buffers, so every thread needs an evaluator of its own.
+	 *
+	 * @param variant The variant hands are evaluated for
+	 * @return a vectorised evaluator if enabled and available, or a FastEvaluator otherwise
+	 */
+	static BatchEvaluator create(final GameVariant variant) {
+
+		if(Boolean.getBoolean(VECTOR_PROPERTY)) {
+			BatchEvaluator evaluator = createVectorEvaluator(variant);
+			if(null != evaluator) {
+				return evaluator;
+			}
+		}
+		return new FastEvaluator(variant);
+	}
+
+	/**
+	 * Creates a vectorised evaluator regardless of the system property poker.eval.vector, e. g. for comparing it with
+	 * the scalar implementation.
+	 *
+	 * @param variant The variant hands are evaluated for
+	 * @return a VectorBatchEvaluator, or null if it is not available in the running JVM
+	 */
+	static BatchEvaluator createVectorEvaluator(final GameVariant variant) {
+
+		if(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+			try {
+				return (BatchEvaluator)Class.forName("poker.eval.VectorBatchEvaluator")
+						.getConstructor(GameVariant.class)
+						.newInstance(variant);
+			} catch (ReflectiveOperationException | LinkageError e) {
+				// the library was built without the vector profile
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,287 @@
+package poker.eval;
+
+import poker.model.Card;
+import poker.model.CardHand;
+import poker.model.Rank;
+
+/**
+ * A fast, allocation-free evaluation engine for sets of five to seven cards. In contrast to CardHand it works on
+ * packed cards and card masks (see PackedCard) and computes an int strength (see HandStrength) for the best five
+ * card hand within the given cards.
+ *
+ * For GameVariant.STANDARD, the Rank of a five card set is always the same Rank a CardHand of these cards evaluates
+ * to. Strengths also order hands of the same Rank by their kickers. Other variants rank hands by their own rules (see
+ * GameVariant), using lookup tables that are generated once per variant.
+ *
+ */
+public class FastEvaluator implements BatchEvaluator {
+
+	private static final int ACE = 1 << 12;
+	private static final Rank[] RANKS = Rank.values();
+
+	private final LookupTables tables;
+	private final boolean lowball;
+
+	public FastEvaluator() {
+		this(GameVariant.STANDARD);
+	}
+
+	/**
+	 * @param variant The variant whose deck, Rank order and straights the evaluator uses
+	 */
+	public FastEvaluator(final GameVariant variant) {
+		this.tables = LookupTables.forVariant(variant);
+		this.lowball = variant.isLowball();
+	}
+
+	/************************ Public methods ***********************/
+
+	/**
+	 * Evaluates the best five card hand within a set of cards.
+	 *
+	 * @param cards A card mask (see PackedCard) holding five to seven cards
+	 * @return the strength of the best five card hand within the given cards
+	 */
+	public int evaluate(final long cards) {
+
+		int clubs = (int)cards & PackedCard.VALUE_BITS;
+		int diamonds = (int)(cards >>> 16) & PackedCard.VALUE_BITS;
+		int hearts = (int)(cards >>> 32) & PackedCard.VALUE_BITS;
+		int spades = (int)(cards >>> 48) & PackedCard.VALUE_BITS;
+
+		// masks of the values held at least once, twice, three or four times
+		int single = clubs | diamonds | hearts | spades;
+		int pairs = (clubs & diamonds) | (hearts & spades) | ((clubs | diamonds) & (hearts | spades));
+		int threes = (clubs & diamonds & (hearts | spades)) | (hearts & spades & (clubs | diamonds));
+		int fours = clubs & diamonds & hearts & spades;
+
+		return evaluate(flushValues(clubs, diamonds, hearts, spades), single, pairs, threes, fours);
+	}
+
+	/**
+	 * Evaluates the best five card hand within a range of packed cards.
+	 *
+	 * @param cards An array of packed cards
+	 * @param offset The index of the first card to be evaluated
+	 * @param length The number of cards to be evaluated, five to seven
+	 * @return the strength of the best five card hand within the given cards
+	 */
+	public int evaluate(final int[] cards, final int offset, final int length) {
+		return evaluate(PackedCard.toMask(cards, offset, length));
+	}
+
+	/**
+	 * Evaluates many hands of the same size in one call, e. g. a batch of hands collected from several requests.
+	 *
+	 * @param cards An array holding the packed cards of all hands, one hand after another
+	 * @param cardsPerHand The number of cards per hand, five to seven
+	 * @param strengths The array the strength of each hand is written to, in the order of the hands
+	 * @param hands The number of hands to be evaluated
+	 */
+	public void evaluateAll(final int[] cards, final int cardsPerHand, final int[] strengths, final int hands) {
+		for(int hand = 0; hand < hands; hand++) {
+			strengths[hand] = evaluate(PackedCard.toMask(cards, hand * cardsPerHand, cardsPerHand));
+		}
+	}
+
+	/**
+	 * Evaluates many card masks in one call. Unlike evaluateAll for packed cards, the masks may hold different
+	 * numbers of cards.
+	 *
+	 * @param cards An array of card masks, each holding five to seven cards
+	 * @param strengths The array the strength of each card mask is written to, at the index of the mask
+	 * @param hands The number of card masks to be evaluated
+	 */
+	@Override
+	public void evaluateAll(final long[] cards, final int[] strengths, final int hands) {
+		for(int hand = 0; hand < hands; hand++) {
+			strengths[hand] = evaluate(cards[hand]);
+		}
+	}
+
+	/**
+	 * Evaluates a CardHand with the fast engine, e. g. for comparing hands without the Ranker.
+	 *
+	 * @param hand The hand to be evaluated
+	 * @return the strength of the given hand
+	 */
+	public int evaluate(final CardHand hand) {
+		long cards = 0L;
+		for(Card card : hand.getCards()) {
+			cards |= PackedCard.toMask(PackedCard.pack(card));
+		}
+		return evaluate(cards);
+	}
+
+	@Override
+	public GameVariant getVariant() {
+		return tables.getVariant();
+	}
+
+	/************************ Package methods ***********************/
+
+	/**
+	 * Finishes the evaluation of five to seven cards whose flush and value masks have already been computed from
+	 * their suit lanes, e. g. by a vectorised batch evaluator.
+	 *
+	 * @param flush The values of the flush suit, see flushValues, or 0 if the cards do not make a flush
+	 * @param single The mask of the values held at least once
+	 * @param pairs The mask of the values held at least twice
+	 * @param threes The mask of the values held at least three times
+	 * @param fours The mask of the values held four times
+	 * @return the strength of the best five card hand within the given cards
+	 */
+	int evaluate(final int flush, final int single, final int pairs, final int threes, final int fours) {
+
+		if(lowball) {
+			return evaluateLowball(single, pairs, threes, fours);
+		}
+
+		int straightFlush = tables.straightHigh(flush);
+		int straight = tables.straightHigh(single);
+		int three = Integer.highestOneBit(threes);
+		int pairsBesideThree = pairs & ~three;
+
+		// collect all Ranks the cards make, and let the variant's table decide which of them is the best
+		int rankSet = 1 << Rank.HIGH_CARD.ordinal()
+				| (pairs != 0 ? 1 << Rank.PAIR.ordinal() : 0)
+				| (Integer.bitCount(pairs) > 1 ? 1 << Rank.TWO_PAIRS.ordinal() : 0)
+				| (three != 0 ? 1 << Rank.THREE_OF_A_KIND.ordinal() : 0)
+				| (straight != 0 ? 1 << Rank.STRAIGHT.ordinal() : 0)
+				| (flush != 0 ? 1 << Rank.FLUSH.ordinal() : 0)
+				| (three != 0 && pairsBesideThree != 0 ? 1 << Rank.FULL_HOUSE.ordinal() : 0)
+				| (fours != 0 ? 1 << Rank.FOUR_OF_A_KIND.ordinal() : 0)
+				| (straightFlush != 0 ? 1 << Rank.STRAIGHT_FLUSH.ordinal() : 0);
+
+		Rank rank = RANKS[tables.bestRank(rankSet)];
+		int position = tables.rankPosition(rank.ordinal());
+
+		switch(rank) {
+			case STRAIGHT_FLUSH:
+				return HandStrength.encode(position, straightFlush, 0);
+			case FOUR_OF_A_KIND:
+				int four = Integer.highestOneBit(fours);
+				return HandStrength.encode(position, four, Integer.highestOneBit(single & ~four));
+			case FULL_HOUSE:
+				return HandStrength.encode(position, three, Integer.highestOneBit(pairsBesideThree));
+			case FLUSH:
+				return HandStrength.encode(position, HandStrength.highestValues(flush, 5), 0);
+			case STRAIGHT:
+				return HandStrength.encode(position, straight, 0);
+			case THREE_OF_A_KIND:
+				return HandStrength.encode(position, three, HandStrength.highestValues(single & ~three, 2));
+			case TWO_PAIRS:
+				int twoPairs = HandStrength.highestValues(pairs, 2);
+				return HandStrength.encode(position, twoPairs, Integer.highestOneBit(single & ~twoPairs));
+			case PAIR:
+				return HandStrength.encode(position, pairs, HandStrength.highestValues(single & ~pairs, 3));
+			default:
+				return HandStrength.encode(position, HandStrength.highestValues(single, 5), 0);
+		}
+	}
+
+	/**
+	 * Finds the position of the best Rank within one to seven cards in the variant's Rank order, e. g. for comparing
+	 * a player's hand with what a partial board makes on its own. Fewer than five cards never hold five values of a
+	 * suit or five values in a row, so they only make pairs, three or four of a kind. A lowball hand needs five cards,
+	 * so fewer cards make no Rank at all.
+	 *
+	 * @param cards A card mask holding one to seven cards
+	 * @return the position of the best Rank (see HandStrength), or -1 if a lowball variant gets fewer than five cards
+	 */
+	int rankPosition(final long cards) {
+		if(lowball && Long.bitCount(cards) < 5) {
+			return -1;
+		}
+		return evaluate(cards) >>> HandStrength.RANK_SHIFT;
+	}
+
+	/**
+	 * @param clubs The values of the clubs lane of a card mask
+	 * @param diamonds The values of the diamonds lane of a card mask
+	 * @param hearts The values of the hearts lane of a card mask
+	 * @param spades The values of the spades lane of a card mask
+	 * @return the values of the suit held at least five times, or 0 if there is no such suit
+	 */
+	static int flushValues(final int clubs, final int diamonds, final int hearts, final int spades) {
+		if(Integer.bitCount(clubs) >= 5) {
+			return clubs;
+		} else if(Integer.bitCount(diamonds) >= 5) {
+			return diamonds;
+		} else if(Integer.bitCount(hearts) >= 5) {
+			return hearts;
+		} else if(Integer.bitCount(spades) >= 5) {
+			return spades;
+		}
+		return 0;
+	}
+
+	/************************ Private methods *************************/
+
+	/**
+	 * Evaluates the lowest five card hand within the given values. Values are turned around, so that an Ace is the
+	 * lowest card, and masks are complemented, so that lower cards make a higher strength.
+	 */
+	private int evaluateLowball(final int single, final int pairs, final int threes, final int fours) {
+
+		int lowSingle = toAceLow(single);
+		int lowPairs = toAceLow(pairs);
+		int lowThrees = toAceLow(threes);
+		int major;
+		int minor;
+		Rank rank;
+
+		switch(Integer.bitCount(lowSingle)) {
+			case 0:
+			case 1:
+			case 2:
+				if(lowThrees != 0 && (lowPairs & ~Integer.lowestOneBit(lowThrees)) != 0) {
+					rank = Rank.FULL_HOUSE;
+					major = Integer.lowestOneBit(lowThrees);
+					minor = Integer.lowestOneBit(lowPairs & ~major);
+				} else {
+					rank = Rank.FOUR_OF_A_KIND;
+					major = toAceLow(fours);
+					minor = lowSingle & ~major;
+				}
+				break;
+			case 3:
+				if(Integer.bitCount(lowPairs) > 1) {
+					rank = Rank.TWO_PAIRS;
+					major = lowestValues(lowPairs, 2);
+					minor = lowSingle & ~major;
+				} else {
+					rank = Rank.THREE_OF_A_KIND;
+					major = lowThrees;
+					minor = lowSingle & ~major;
+				}
+				break;
+			case 4:
+				rank = Rank.PAIR;
+				major = Integer.lowestOneBit(lowPairs);
+				minor = lowSingle & ~major;
+				break;
+			default:
+				rank = Rank.HIGH_CARD;
+				major = lowestValues(lowSingle, 5);
+				minor = 0;
+		}
+
+		return HandStrength.encode(tables.rankPosition(rank.ordinal()), ~major & PackedCard.VALUE_BITS, ~minor & PackedCard.VALUE_BITS);
+	}
+
+	private static int toAceLow(final int values) {
+		return (values << 1 | (values & ACE) >>> 12) & PackedCard.VALUE_BITS;
+	}
+
+	private static int lowestValues(final int values, final int count) {
+		int lowest = 0;
+		int remaining = values;
+		for(int i = 0; i < count; i++) {
+			int bit = Integer.lowestOneBit(remaining);
+			lowest |= bit;
+			remaining &= ~bit;
+		}
+		return lowest;
+	}
+}
@@ -0,0 +1,108 @@
+package poker.eval;
+
+import poker.model.CardSuit;
+import poker.model.CardValue;
+import poker.model.Rank;
+
+/**
+ * The Poker variants the fast evaluation engine can be configured for. A variant defines the deck it is played
+ * with, the order of the Ranks, and which five values make a straight. The lookup tables of each variant are
+ * generated once, when the first FastEvaluator for it is created, and are then shared.
+ *
+ */
+public enum GameVariant {
+
+	/**
+	 * Standard Poker with 52 cards, ranked like CardHand and the Ranker do. An Ace only counts as the highest card
+	 * of a straight.
+	 */
+	STANDARD(CardValue._2, false, new Rank[] {
+			Rank.HIGH_CARD, Rank.PAIR, Rank.TWO_PAIRS, Rank.THREE_OF_A_KIND, Rank.STRAIGHT,
+			Rank.FLUSH, Rank.FULL_HOUSE, Rank.FOUR_OF_A_KIND, Rank.STRAIGHT_FLUSH }),
+
+	/**
+	 * Short-deck ("Six plus") Poker with the 36 cards from Six to Ace. A flush beats a full house, and an Ace also
+	 * counts as the lowest card of the straight Ace-Six-Seven-Eight-Nine.
+	 */
+	SHORT_DECK(CardValue._6, false, new Rank[] {
+			Rank.HIGH_CARD, Rank.PAIR, Rank.TWO_PAIRS, Rank.THREE_OF_A_KIND, Rank.STRAIGHT,
+			Rank.FULL_HOUSE, Rank.FLUSH, Rank.FOUR_OF_A_KIND, Rank.STRAIGHT_FLUSH }),
+
+	/**
+	 * Ace-to-Five lowball with 52 cards: the lowest hand wins, an Ace always counts as the lowest card, and straights
+	 * and flushes do not count. The best hand is therefore a HIGH_CARD hand of Five-Four-Three-Two-Ace.
+	 */
+	ACE_TO_FIVE_LOWBALL(CardValue._2, true, new Rank[] {
+			Rank.FOUR_OF_A_KIND, Rank.FULL_HOUSE, Rank.THREE_OF_A_KIND, Rank.TWO_PAIRS, Rank.PAIR,
+			Rank.HIGH_CARD });
+
+	private final CardValue lowestValue;
+	private final boolean lowball;
+	private final Rank[] rankOrder;
+
+	private GameVariant(final CardValue lowestValue, final boolean lowball, final Rank[] rankOrder) {
+		this.lowestValue = lowestValue;
+		this.lowball = lowball;
+		this.rankOrder = rankOrder;
+	}
+
+	/************************ Public methods ***********************/
+
+	/**
+	 * @return a new array of all packed cards (see PackedCard) this variant is played with, in their natural order
+	 */
+	public int[] getDeck() {
+		int firstValue = lowestValue.ordinal();
+		int[] deck = new int[(CardValue.values().length - firstValue) * CardSuit.values().length];
+		for(int i = 0; i < deck.length; i++) {
+			deck[i] = firstValue * 4 + i;
+		}
+		return deck;
+	}
+
+	/**
+	 * @param strength A strength computed by a FastEvaluator for this variant
+	 * @return the Rank that is encoded in the given strength
+	 */
+	public Rank getRank(final int strength) {
+		return rankOrder[strength >>> HandStrength.RANK_SHIFT];
+	}
+
+	/**
+	 * @return true if the lowest hand wins in this variant
+	 */
+	public boolean isLowball() {
+		return lowball;
+	}
+
+	/************************ Package-private methods *************************/
+
+	/**
+	 * @return the Ranks that can occur in this variant, ordered from the lowest to the highest
+	 */
+	Rank[] getRankOrder() {
+		return rankOrder.clone();
+	}
+
+	/**
+	 * @return the value masks of all straights in this variant, or an empty array if straights do not count
+	 */
+	int[] getStraights() {
+		if(lowball) {
+			return new int[0];
+		}
+
+		int lowestStraight = lowestValue.ordinal();
+		int numberOfStraights = CardValue.A.ordinal() - (lowestStraight + 4) + 1;
+		boolean aceLowStraight = this == SHORT_DECK;
+		int[] straights = new int[numberOfStraights + (aceLowStraight ? 1 : 0)];
+
+		for(int i = 0; i < numberOfStraights; i++) {
+			straights[i] = 0x1F << (lowestStraight + i);
+		}
+		if(aceLowStraight) {
+			straights[numberOfStraights] = 1 << CardValue.A.ordinal() | 0xF << lowestStraight;
+		}
+		return straights;
+	}
+}
@@ -0,0 +1,67 @@
+package poker.eval;
+
+import poker.model.Rank;
+
+/**
+ * Static helpers for the int hand strengths computed by the fast evaluation engine. Strengths of two hands can be
+ * compared with each other directly: the higher strength wins, equal strengths split the pot.
+ *
+ * A strength holds three fields: the position of the hand's Rank in the Rank order of its GameVariant in bits 26
+ * and above, a "major" value mask in bits 13 to 25 and a "minor" value mask in bits 0 to 12. The major mask holds
+ * the values that decide first (e. g. the value of a pair or the five values of a flush), the minor mask holds the
+ * kickers. Comparing masks of equal bit count as integers compares their values from the highest value downwards,
+ * which is exactly the Poker tie-breaking rule. For GameVariant.STANDARD, the Rank position is the Rank's ordinal.
+ *
+ */
+public final class HandStrength {
+
+	static final int RANK_SHIFT = 26;
+	static final int MAJOR_SHIFT = 13;
+
+	private static final Rank[] RANKS = Rank.values();
+
+	private HandStrength() {
+	}
+
+	/************************ Public methods ***********************/
+
+	/**
+	 * @param strength A strength computed by the fast evaluation engine for GameVariant.STANDARD
+	 * @return the Rank that is encoded in the given strength
+	 */
+	public static Rank getRank(final int strength) {
+		return RANKS[strength >>> RANK_SHIFT];
+	}
+
+	/**
+	 * @param strength A strength computed by the fast evaluation engine
+	 * @return the mask of card values that decides between hands of the same Rank first
+	 */
+	public static int getMajorValues(final int strength) {
+		return (strength >>> MAJOR_SHIFT) & PackedCard.VALUE_BITS;
+	}
+
+	/**
+	 * @param strength A strength computed by the fast evaluation engine
+	 * @return the mask of kicker values
+	 */
+	public static int getMinorValues(final int strength) {
+		return strength & PackedCard.VALUE_BITS;
+	}
+
+	/************************ Package-private methods *************************/
+
+	static int encode(final int rankPosition, final int majorValues, final int minorValues) {
+		return rankPosition << RANK_SHIFT | majorValues << MAJOR_SHIFT | minorValues;
+	}
+
+	/**
+	 * Keeps only the given number of highest bits of a value mask.
+	 */
+	static int highestValues(int values, final int count) {
+		while(Integer.bitCount(values) > count) {
+			values &= values - 1;
+		}
+		return values;
+	}
+}
@@ -0,0 +1,124 @@
+package poker.eval;
+
+import java.util.Arrays;
+
+import poker.model.CardValue;
+import poker.model.Rank;
+
+/**
+ * Precomputed tables of the fast evaluation engine for one GameVariant. The tables are created lazily, once per
+ * variant, when the first evaluator of that variant is created, and are then shared by all evaluators of that
+ * variant. Loading the evaluation classes does not create any table.
+ *
+ * Generating the tables only visits the value masks that hold a straight, and takes a few milliseconds in a fresh
+ * JVM. Reading them from a memory-mapped file took several times as long, mostly for loading the NIO classes, so
+ * the tables are not cached across JVMs.
+ *
+ */
+final class LookupTables {
+
+	private static final int VALUE_TABLE_SIZE = PackedCard.VALUE_BITS + 1;
+	private static final int RANK_SET_TABLE_SIZE = 1 << Rank.values().length;
+	private static final int KING = 1 << CardValue.K.ordinal();
+	private static final int ACE = 1 << CardValue.A.ordinal();
+
+	private static final LookupTables[] CACHE = new LookupTables[GameVariant.values().length];
+
+	private final GameVariant variant;
+
+	/** For every value mask, the bit of the highest card of the best straight it contains, or 0 */
+	private final short[] straightHighs = new short[VALUE_TABLE_SIZE];
+
+	/** For every set of Ranks a hand makes (one bit per Rank ordinal), the ordinal of the best of these Ranks */
+	private final byte[] bestRanks = new byte[RANK_SET_TABLE_SIZE];
+
+	/** For every Rank ordinal, its position in the variant's order of Ranks, or -1 if it cannot occur */
+	private final int[] rankPositions = new int[Rank.values().length];
+
+	private LookupTables(final GameVariant variant) {
+		this.variant = variant;
+	}
+
+	/************************ Package-private methods *************************/
+
+	static LookupTables standard() {
+		return forVariant(GameVariant.STANDARD);
+	}
+
+	static synchronized LookupTables forVariant(final GameVariant variant) {
+		LookupTables tables = CACHE[variant.ordinal()];
+		if(null == tables) {
+			tables = generate(variant);
+			CACHE[variant.ordinal()] = tables;
+		}
+		return tables;
+	}
+
+	/**
+	 * @param variant The variant of the tables
+	 * @return newly generated tables of the variant
+	 */
+	static LookupTables generate(final GameVariant variant) {
+
+		LookupTables tables = new LookupTables(variant);
+		short[] straightHighs = tables.straightHighs;
+		byte[] bestRanks = tables.bestRanks;
+		int[] rankPositions = tables.rankPositions;
+
+		// visit only the value masks that contain a straight, i. e. the supersets of each straight, which is a small
+		// fraction of all masks and keeps the tables cheap to create in a JVM that still interprets this code
+		for(int straight : variant.getStraights()) {
+			// an Ace that completes a straight without a King is the straight's lowest card
+			int high = Integer.highestOneBit((straight & KING) == 0 ? straight & ~ACE : straight);
+			for(int values = straight; values < VALUE_TABLE_SIZE; values = (values + 1) | straight) {
+				straightHighs[values] = (short)Math.max(straightHighs[values], high);
+			}
+		}
+
+		Rank[] rankOrder = variant.getRankOrder();
+		Arrays.fill(rankPositions, -1);
+		for(int position = 0; position < rankOrder.length; position++) {
+			rankPositions[rankOrder[position].ordinal()] = position;
+		}
+
+		for(int rankSet = 0; rankSet < RANK_SET_TABLE_SIZE; rankSet++) {
+			for(int position = rankOrder.length - 1; position >= 0; position--) {
+				int ordinal = rankOrder[position].ordinal();
+				if((rankSet & 1 << ordinal) != 0) {
+					bestRanks[rankSet] = (byte)ordinal;
+					break;
+				}
+			}
+		}
+
+		return tables;
+	}
+
+	GameVariant getVariant() {
+		return variant;
+	}
+
+	/**
+	 * @param values A 13 bit mask of card values
+	 * @return the bit of the highest card of the best straight within the given values, or 0 if there is none
+	 */
+	int straightHigh(final int values) {
+		return straightHighs[values];
+	}
+
+	/**
+	 * @param rankSet A set of Ranks a hand makes, one bit per Rank ordinal
+	 * @return the ordinal of the Rank within the given set that is the best in this variant
+	 */
+	int bestRank(final int rankSet) {
+		return bestRanks[rankSet];
+	}
+
+	/**
+	 * @param rankOrdinal The ordinal of a Rank
+	 * @return the position of the given Rank in the variant's order, which is what strengths are built from
+	 */
+	int rankPosition(final int rankOrdinal) {
+		return rankPositions[rankOrdinal];
+	}
+}
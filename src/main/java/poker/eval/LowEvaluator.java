@@ -0,0 +1,88 @@
+package poker.eval;
+
+/**
+ * Evaluates the low half of Hi/Lo games with an "eight or better" qualifier: a low hand needs five cards of
+ * different values from Ace to Eight, where the Ace counts as the lowest card, and straights and flushes do not
+ * count against it.
+ *
+ * Low strengths are ints with the same contract as high strengths: the higher strength wins and equal strengths
+ * split. NO_LOW denotes a hand that does not qualify.
+ *
+ */
+public final class LowEvaluator {
+
+	/** The strength of a hand without a qualifying low */
+	public static final int NO_LOW = -1;
+
+	/** The bits of a low value mask: bit 0 for the Ace, up to bit 7 for the Eight */
+	private static final int LOW_BITS = 0xFF;
+
+	private LowEvaluator() {
+	}
+
+	/************************ Public methods ***********************/
+
+	/**
+	 * Evaluates the best low within a set of cards, e. g. the seven cards of a Stud Hi/Lo hand.
+	 *
+	 * @param cards A card mask (see PackedCard)
+	 * @return the strength of the best qualifying low, or NO_LOW
+	 */
+	public static int evaluate(final long cards) {
+		return LowTable.LOW_TABLE[toLowValues(cards)];
+	}
+
+	/**
+	 * Evaluates a low made of exactly the given cards, e. g. two Omaha hole cards combined with three board cards.
+	 *
+	 * @param cards A card mask (see PackedCard) holding five cards
+	 * @return the strength of the low, or NO_LOW if the five cards do not form a qualifying low
+	 */
+	public static int evaluateExactly(final long cards) {
+		int values = toLowValues(cards);
+		return Integer.bitCount(values) == 5 ? LowTable.LOW_TABLE[values] : NO_LOW;
+	}
+
+	/**
+	 * @param cards A card mask (see PackedCard)
+	 * @return the mask of the low values within the given cards: bit 0 for an Ace, up to bit 7 for an Eight
+	 */
+	public static int toLowValues(final long cards) {
+		int values = (int)(cards | cards >>> 16 | cards >>> 32 | cards >>> 48) & PackedCard.VALUE_BITS;
+		return (values << 1 | values >>> 12) & LOW_BITS;
+	}
+
+	/************************ Private methods *************************/
+
+	private static int lowestValues(final int values, final int count) {
+		int lowest = 0;
+		int remaining = values;
+		for(int i = 0; i < count; i++) {
+			int bit = Integer.lowestOneBit(remaining);
+			lowest |= bit;
+			remaining &= ~bit;
+		}
+		return lowest;
+	}
+
+	/************************ Private classes *************************/
+
+	/**
+	 * Holds the table of low strengths, which is only created when the first low is evaluated, not whenever
+	 * LowEvaluator is initialised, e. g. by a call of toLowValues().
+	 */
+	private static final class LowTable {
+
+		/**
+		 * For every low value mask, the strength of the best low within it. As better lows have lower cards, the
+		 * strength is the complement of the mask of the five lowest values, which reverses the order of the masks.
+		 */
+		private static final short[] LOW_TABLE = new short[LOW_BITS + 1];
+
+		static {
+			for(int values = 0; values <= LOW_BITS; values++) {
+				LOW_TABLE[values] = (short)(Integer.bitCount(values) < 5 ? NO_LOW : ~lowestValues(values, 5) & LOW_BITS);
+			}
+		}
+	}
+}
@@ -0,0 +1,198 @@
+package poker.eval;
+
+import poker.error.HandSizeError;
+
+/**
+ * Evaluates Omaha hands, where a player has to use exactly two of the four (or five, for Omaha-5) hole cards and
+ * exactly three of the board cards.
+ *
+ * The evaluator is bound to one board at a time. Setting the board precomputes the card masks of all combinations
+ * of three board cards once, so that evaluating each player's hole cards afterwards only needs to combine these
+ * with the masks of the player's hole card pairs, without allocating anything.
+ *
+ */
+public class OmahaEvaluator {
+
+	/** The number of three card combinations of a full board of five cards */
+	private static final int MAX_BOARD_COMBINATIONS = 10;
+
+	/** The number of two card combinations of five Omaha-5 hole cards */
+	private static final int MAX_HOLE_COMBINATIONS = 10;
+
+	private final FastEvaluator evaluator;
+	private final long[] boardCombinations = new long[MAX_BOARD_COMBINATIONS];
+	private final long[] holeCombinations = new long[MAX_HOLE_COMBINATIONS];
+	private int numberOfBoardCombinations = 0;
+	private long boardCards = 0L;
+
+	public OmahaEvaluator() {
+		this(new FastEvaluator());
+	}
+
+	/**
+	 * @param evaluator The engine used for evaluating each five card combination
+	 */
+	public OmahaEvaluator(final FastEvaluator evaluator) {
+		this.evaluator = evaluator;
+	}
+
+	/************************ Public methods ***********************/
+
+	/**
+	 * Sets the community cards all subsequently evaluated hands are combined with.
+	 *
+	 * @param board The packed board cards: three on the flop, four on the turn, or five on the river
+	 * @throws HandSizeError is thrown when the board holds less than three or more than five cards
+	 * @throws IllegalArgumentException is thrown when the board holds a card twice
+	 */
+	public void setBoard(final int[] board) throws HandSizeError {
+
+		if(board.length < 3 || board.length > 5) {
+			throw new HandSizeError(board.length, "3 to 5");
+		}
+
+		boardCards = addCards(0L, board);
+		numberOfBoardCombinations = combineThrees(board, boardCombinations);
+	}
+
+	/**
+	 * Evaluates the best Omaha hand a player can make with the current board.
+	 *
+	 * @param hole The player's packed hole cards, four for Omaha or five for Omaha-5
+	 * @return the strength (see HandStrength) of the best hand using exactly two hole cards and three board cards
+	 * @throws HandSizeError is thrown when the player does not hold four or five hole cards
+	 * @throws IllegalStateException is thrown when no board has been set
+	 * @throws IllegalArgumentException is thrown when the hole cards hold a card twice or share a card with the board
+	 */
+	public int evaluate(final int[] hole) throws HandSizeError {
+
+		checkHole(hole);
+		int numberOfHoleCombinations = combineTwos(hole, holeCombinations);
+		int best = -1;
+
+		for(int i = 0; i < numberOfHoleCombinations; i++) {
+			long holeCards = holeCombinations[i];
+			for(int j = 0; j < numberOfBoardCombinations; j++) {
+				best = Math.max(best, evaluator.evaluate(holeCards | boardCombinations[j]));
+			}
+		}
+
+		return best;
+	}
+
+	/**
+	 * Evaluates the best eight or better low an Omaha Hi/Lo player can make with the current board.
+	 *
+	 * @param hole The player's packed hole cards, four for Omaha or five for Omaha-5
+	 * @return the low strength (see LowEvaluator) of the best low using exactly two hole cards and three board cards,
+	 * or LowEvaluator.NO_LOW if the player has no qualifying low
+	 * @throws HandSizeError is thrown when the player does not hold four or five hole cards
+	 * @throws IllegalStateException is thrown when no board has been set
+	 * @throws IllegalArgumentException is thrown when the hole cards hold a card twice or share a card with the board
+	 */
+	public int evaluateLow(final int[] hole) throws HandSizeError {
+
+		checkHole(hole);
+		int numberOfHoleCombinations = combineTwos(hole, holeCombinations);
+		int best = LowEvaluator.NO_LOW;
+
+		for(int i = 0; i < numberOfHoleCombinations; i++) {
+			long holeCards = holeCombinations[i];
+			for(int j = 0; j < numberOfBoardCombinations; j++) {
+				best = Math.max(best, LowEvaluator.evaluateExactly(holeCards | boardCombinations[j]));
+			}
+		}
+
+		return best;
+	}
+
+	/**
+	 * Evaluates both halves of an Omaha Hi/Lo hand in a single pass over the card combinations and stores the
+	 * strengths at the given player index, e. g. while settling a showdown.
+	 *
+	 * @param hole The player's packed hole cards, four for Omaha or five for Omaha-5
+	 * @param highStrengths The array the strength of the best high hand is stored in
+	 * @param lowStrengths The array the strength of the best low (or LowEvaluator.NO_LOW) is stored in
+	 * @param player The index the strengths are stored at
+	 * @throws HandSizeError is thrown when the player does not hold four or five hole cards
+	 * @throws IllegalStateException is thrown when no board has been set
+	 * @throws IllegalArgumentException is thrown when the hole cards hold a card twice or share a card with the board
+	 */
+	public void evaluateHiLo(final int[] hole, final int[] highStrengths, final int[] lowStrengths, final int player) throws HandSizeError {
+
+		checkHole(hole);
+		int numberOfHoleCombinations = combineTwos(hole, holeCombinations);
+		int bestHigh = -1;
+		int bestLow = LowEvaluator.NO_LOW;
+
+		for(int i = 0; i < numberOfHoleCombinations; i++) {
+			long holeCards = holeCombinations[i];
+			for(int j = 0; j < numberOfBoardCombinations; j++) {
+				long cards = holeCards | boardCombinations[j];
+				bestHigh = Math.max(bestHigh, evaluator.evaluate(cards));
+				bestLow = Math.max(bestLow, LowEvaluator.evaluateExactly(cards));
+			}
+		}
+
+		highStrengths[player] = bestHigh;
+		lowStrengths[player] = bestLow;
+	}
+
+	/************************ Private methods *************************/
+
+	private void checkBoard() {
+		if(numberOfBoardCombinations == 0) {
+			throw new IllegalStateException("No board has been set");
+		}
+	}
+
+	private void checkHole(final int[] hole) throws HandSizeError {
+		if(hole.length < 4 || hole.length > 5) {
+			throw new HandSizeError(hole.length, "4 or 5");
+		}
+		checkBoard();
+		addCards(boardCards, hole);
+	}
+
+	/**
+	 * Adds packed cards to a mask of the cards dealt so far.
+	 *
+	 * @throws IllegalArgumentException is thrown when a card has already been dealt
+	 */
+	private static long addCards(final long dealt, final int[] cards) {
+		long result = dealt;
+		for(int packed : cards) {
+			long card = PackedCard.toMask(packed);
+			if((result & card) != 0L) {
+				throw new IllegalArgumentException("The card " + PackedCard.format(packed) + " is dealt twice.");
+			}
+			result |= card;
+		}
+		return result;
+	}
+
+	private static int combineTwos(final int[] cards, final long[] combinations) {
+		int count = 0;
+		for(int i = 0; i < cards.length; i++) {
+			long first = PackedCard.toMask(cards[i]);
+			for(int j = i + 1; j < cards.length; j++) {
+				combinations[count++] = first | PackedCard.toMask(cards[j]);
+			}
+		}
+		return count;
+	}
+
+	private static int combineThrees(final int[] cards, final long[] combinations) {
+		int count = 0;
+		for(int i = 0; i < cards.length; i++) {
+			long first = PackedCard.toMask(cards[i]);
+			for(int j = i + 1; j < cards.length; j++) {
+				long second = first | PackedCard.toMask(cards[j]);
+				for(int k = j + 1; k < cards.length; k++) {
+					combinations[count++] = second | PackedCard.toMask(cards[k]);
+				}
+			}
+		}
+		return count;
+	}
+}
@@ -0,0 +1,83 @@
+package poker.eval;
+
+import poker.error.HandSizeError;
+
+/**
+ * Counts the outs of a Hold'em player on the flop or the turn. Every unseen card of the variant's deck is
+ * classified in a single pass over the unseen cards' mask, by adding it to the known cards' mask and evaluating
+ * the result with the fast engine. A card is only an out if it improves the player's hand beyond what the board and
+ * the card make on their own; cards that only pair or otherwise improve the board help every other player as well.
+ * No CardHand objects are created, and counting into a reused Outs object does not allocate anything.
+ *
+ */
+public class OutCounter {
+
+	private final FastEvaluator evaluator;
+	private final GameVariant variant;
+	private final long deck;
+
+	public OutCounter() {
+		this(new FastEvaluator());
+	}
+
+	/**
+	 * @param evaluator The engine whose variant decides about the deck and the Ranks
+	 */
+	public OutCounter(final FastEvaluator evaluator) {
+		this.evaluator = evaluator;
+		this.variant = evaluator.getVariant();
+		int[] cards = variant.getDeck();
+		this.deck = PackedCard.toMask(cards, 0, cards.length);
+	}
+
+	/************************ Public methods ***********************/
+
+	/**
+	 * @param hole The player's two packed hole cards
+	 * @param board The packed board cards: three on the flop or four on the turn
+	 * @return the outs of the given player
+	 * @throws HandSizeError is thrown when the player does not hold two cards or the board is not a flop or turn
+	 */
+	public Outs countOuts(final int[] hole, final int[] board) throws HandSizeError {
+		Outs outs = new Outs();
+		countOuts(hole, board, outs);
+		return outs;
+	}
+
+	/**
+	 * Counts the outs of a player into an existing Outs object, which is reset first.
+	 *
+	 * @param hole The player's two packed hole cards
+	 * @param board The packed board cards: three on the flop or four on the turn
+	 * @param outs The object the outs are counted into
+	 * @throws HandSizeError is thrown when the player does not hold two cards or the board is not a flop or turn
+	 */
+	public void countOuts(final int[] hole, final int[] board, final Outs outs) throws HandSizeError {
+
+		if(hole.length != 2) {
+			throw new HandSizeError(hole.length, "2");
+		}
+		if(board.length < 3 || board.length > 4) {
+			throw new HandSizeError(board.length, "3 or 4");
+		}
+
+		long boardCards = PackedCard.toMask(board, 0, board.length);
+		long known = PackedCard.toMask(hole, 0, hole.length) | boardCards;
+		long unseen = deck & ~known;
+		int current = evaluator.evaluate(known);
+		int currentRankPosition = current >>> HandStrength.RANK_SHIFT;
+
+		outs.reset(variant.getRank(current), Long.bitCount(unseen), 5 - board.length);
+
+		while(unseen != 0L) {
+			long card = Long.lowestOneBit(unseen);
+			unseen ^= card;
+
+			int strength = evaluator.evaluate(known | card);
+			int rankPosition = strength >>> HandStrength.RANK_SHIFT;
+			if(rankPosition > currentRankPosition && rankPosition > evaluator.rankPosition(boardCards | card)) {
+				outs.addOut(variant.getRank(strength));
+			}
+		}
+	}
+}
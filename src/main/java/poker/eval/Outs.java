@@ -0,0 +1,101 @@
+package poker.eval;
+
+import java.util.Arrays;
+
+import poker.model.Rank;
+
+/**
+ * The outs of a partial Hold'em hand, i. e. the unseen cards that improve the hand to a better Rank, as counted by
+ * an OutCounter. An Outs object can be reused for counting the outs of the next street or the next player.
+ *
+ */
+public class Outs {
+
+	private final int[] outsByRank = new int[Rank.values().length];
+	private Rank currentRank = Rank.HIGH_CARD;
+	private int unseenCards = 0;
+	private int cardsToCome = 0;
+
+	/************************ Public methods ***********************/
+
+	/**
+	 * @return the Rank the hand has with the cards seen so far
+	 */
+	public Rank getCurrentRank() {
+		return currentRank;
+	}
+
+	/**
+	 * @param rank A Rank better than the current one
+	 * @return the number of unseen cards that improve the hand to exactly the given Rank
+	 */
+	public int getOuts(final Rank rank) {
+		return outsByRank[rank.ordinal()];
+	}
+
+	/**
+	 * @return the number of unseen cards that improve the hand to any better Rank
+	 */
+	public int getTotalOuts() {
+		int total = 0;
+		for(int outs : outsByRank) {
+			total += outs;
+		}
+		return total;
+	}
+
+	/**
+	 * @return the number of cards that have not been seen yet, i. e. the number of cards the next card is dealt from
+	 */
+	public int getUnseenCards() {
+		return unseenCards;
+	}
+
+	/**
+	 * @return the number of board cards still to come: two on the flop, one on the turn
+	 */
+	public int getCardsToCome() {
+		return cardsToCome;
+	}
+
+	/**
+	 * @param rank A Rank better than the current one
+	 * @return the probability that the next card improves the hand to exactly the given Rank
+	 */
+	public double getNextCardProbability(final Rank rank) {
+		return (double)getOuts(rank) / unseenCards;
+	}
+
+	/**
+	 * Computes the probability that at least one of the outs to the given Rank is dealt until the river. Hands that
+	 * only improve with two running cards ("runner-runner") are not included.
+	 *
+	 * @param rank A Rank better than the current one
+	 * @return the probability of hitting one of the outs to the given Rank with the remaining board cards
+	 */
+	public double getProbabilityByRiver(final Rank rank) {
+		if(cardsToCome < 2) {
+			return getNextCardProbability(rank);
+		}
+		double misses = unseenCards - getOuts(rank);
+		return 1.0 - (misses * (misses - 1)) / ((double)unseenCards * (unseenCards - 1));
+	}
+
+	@Override
+	public String toString() {
+		return "Outs [currentRank=" + currentRank + ", outsByRank=" + Arrays.toString(outsByRank) + ", unseenCards=" + unseenCards + "]";
+	}
+
+	/************************ Package-private methods *************************/
+
+	void reset(final Rank currentRank, final int unseenCards, final int cardsToCome) {
+		Arrays.fill(outsByRank, 0);
+		this.currentRank = currentRank;
+		this.unseenCards = unseenCards;
+		this.cardsToCome = cardsToCome;
+	}
+
+	void addOut(final Rank rank) {
+		outsByRank[rank.ordinal()]++;
+	}
+}
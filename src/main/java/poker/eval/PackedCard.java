@@ -0,0 +1,143 @@
+package poker.eval;
+
+import java.util.List;
+
+import poker.model.Card;
+import poker.model.CardSuit;
+import poker.model.CardValue;
+
+/**
+ * Static helpers for the packed representation of cards that is used by the fast evaluation engine.
+ *
+ * A packed card is an int between 0 and 51, computed as (value ordinal * 4 + suit ordinal). Packed cards
+ * therefore sort in exactly the same order as Card objects do. Sets of cards are represented as a long
+ * bit mask with one 16 bit lane per CardSuit, in which bit n stands for the CardValue with ordinal n.
+ *
+ */
+public final class PackedCard {
+
+	public static final int DECK_SIZE = 52;
+
+	/** The bits of a single suit lane that are used by the thirteen card values */
+	public static final int VALUE_BITS = 0x1FFF;
+
+	private static final CardSuit[] SUITS = CardSuit.values();
+	private static final CardValue[] VALUES = CardValue.values();
+	private static final String VALUE_SYMBOLS = "23456789TJQKA";
+	private static final String SUIT_SYMBOLS = "cdhs";
+
+	private PackedCard() {
+	}
+
+	/************************ Public methods ***********************/
+
+	/**
+	 * @param card The card to be packed
+	 * @return the packed int representation of the given card
+	 */
+	public static int pack(final Card card) {
+		return card.getCardValue().ordinal() * 4 + card.getCardSuit().ordinal();
+	}
+
+	/**
+	 * @param cards The cards to be packed
+	 * @return a new array holding the packed cards in the order of the given list
+	 */
+	public static int[] pack(final List<Card> cards) {
+		int[] packed = new int[cards.size()];
+		for(int i = 0; i < packed.length; i++) {
+			packed[i] = pack(cards.get(i));
+		}
+		return packed;
+	}
+
+	/**
+	 * @param packed A packed card
+	 * @return a Card object equal to the given packed card
+	 */
+	public static Card unpack(final int packed) {
+		return new Card(SUITS[suitOrdinal(packed)], VALUES[valueOrdinal(packed)]);
+	}
+
+	/**
+	 * Parses the short notation of a card, which is the value symbol (2 - 9, T, J, Q, K or A) followed by the suit
+	 * symbol (c, d, h or s), e. g. "As" for the Ace of spades or "Td" for the Ten of diamonds. Both symbols are
+	 * accepted in upper and lower case.
+	 *
+	 * @param notation The short notation of a card
+	 * @return the packed card
+	 * @throws IllegalArgumentException is thrown when the notation does not denote a card
+	 */
+	public static int parse(final CharSequence notation) {
+		return parse(notation, 0, notation.length());
+	}
+
+	/**
+	 * Parses the short notation of a card within a longer text without copying it (see parse(CharSequence)).
+	 *
+	 * @param text A text holding the short notation of a card
+	 * @param start The index of the first character of the notation
+	 * @param end The index after the last character of the notation
+	 * @return the packed card
+	 * @throws IllegalArgumentException is thrown when the characters do not denote a card
+	 */
+	public static int parse(final CharSequence text, final int start, final int end) {
+		if(end - start != 2) {
+			throw new IllegalArgumentException("Not a card: " + text.subSequence(start, end));
+		}
+		int value = VALUE_SYMBOLS.indexOf(Character.toUpperCase(text.charAt(start)));
+		int suit = SUIT_SYMBOLS.indexOf(Character.toLowerCase(text.charAt(start + 1)));
+		if(value < 0 || suit < 0) {
+			throw new IllegalArgumentException("Not a card: " + text.subSequence(start, end));
+		}
+		return value * 4 + suit;
+	}
+
+	/**
+	 * @param packed A packed card
+	 * @return the short notation of the packed card, e. g. "As" for the Ace of spades (see parse)
+	 */
+	public static String format(final int packed) {
+		return new String(new char[] { VALUE_SYMBOLS.charAt(valueOrdinal(packed)), SUIT_SYMBOLS.charAt(suitOrdinal(packed)) });
+	}
+
+	/**
+	 * @param packed A packed card
+	 * @return the ordinal of the packed card's CardValue, i. e. 0 for a Two and 12 for an Ace
+	 */
+	public static int valueOrdinal(final int packed) {
+		return packed >>> 2;
+	}
+
+	/**
+	 * @param packed A packed card
+	 * @return the ordinal of the packed card's CardSuit
+	 */
+	public static int suitOrdinal(final int packed) {
+		return packed & 3;
+	}
+
+	/**
+	 * @param packed A packed card
+	 * @return the card mask holding only the given card
+	 */
+	public static long toMask(final int packed) {
+		return 1L << ((packed & 3) * 16 + (packed >>> 2));
+	}
+
+	/**
+	 * Combines a range of packed cards to a card mask.
+	 *
+	 * @param cards An array of packed cards
+	 * @param offset The index of the first card to be included
+	 * @param length The number of cards to be included
+	 * @return the card mask holding all cards of the given range
+	 */
+	public static long toMask(final int[] cards, final int offset, final int length) {
+		long mask = 0L;
+		for(int i = offset; i < offset + length; i++) {
+			mask |= toMask(cards[i]);
+		}
+		return mask;
+	}
+}
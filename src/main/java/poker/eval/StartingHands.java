@@ -0,0 +1,103 @@
+package poker.eval;
+
+import poker.model.CardValue;
+
+/**
+ * Static helpers for the 169 canonical Hold'em starting hands, i. e. two hole cards without regard to their actual
+ * suits: 13 pairs, 78 suited and 78 offsuit hands.
+ *
+ * Starting hands are indexed like a 13 by 13 grid of card values: a pair of value v has the index v * 13 + v, a
+ * suited hand the index high * 13 + low and an offsuit hand the index low * 13 + high, where v, high and low are
+ * CardValue ordinals.
+ *
+ */
+public final class StartingHands {
+
+	public static final int NUMBER_OF_STARTING_HANDS = 169;
+
+	private static final int NUMBER_OF_VALUES = 13;
+	private static final CardValue[] VALUES = CardValue.values();
+
+	private StartingHands() {
+	}
+
+	/************************ Public methods ***********************/
+
+	/**
+	 * @param card1 The first packed hole card
+	 * @param card2 The second packed hole card
+	 * @return the index of the starting hand the two cards belong to
+	 */
+	public static int indexOf(final int card1, final int card2) {
+		int value1 = PackedCard.valueOrdinal(card1);
+		int value2 = PackedCard.valueOrdinal(card2);
+		int high = Math.max(value1, value2);
+		int low = Math.min(value1, value2);
+
+		if(PackedCard.suitOrdinal(card1) == PackedCard.suitOrdinal(card2)) {
+			return high * NUMBER_OF_VALUES + low;
+		}
+		return low * NUMBER_OF_VALUES + high;
+	}
+
+	/**
+	 * @param index The index of a starting hand
+	 * @return true if the starting hand is a pair
+	 */
+	public static boolean isPair(final int index) {
+		return index / NUMBER_OF_VALUES == index % NUMBER_OF_VALUES;
+	}
+
+	/**
+	 * @param index The index of a starting hand
+	 * @return true if the starting hand is suited
+	 */
+	public static boolean isSuited(final int index) {
+		return index / NUMBER_OF_VALUES > index % NUMBER_OF_VALUES;
+	}
+
+	/**
+	 * @param index The index of a starting hand
+	 * @return all concrete pairs of packed cards that make the given starting hand: 6 for a pair, 4 for a suited and 12
+	 * for an offsuit hand
+	 */
+	public static int[][] getCombinations(final int index) {
+
+		int value1 = index / NUMBER_OF_VALUES;
+		int value2 = index % NUMBER_OF_VALUES;
+		int[][] combinations = new int[isPair(index) ? 6 : isSuited(index) ? 4 : 12][];
+		int count = 0;
+
+		for(int suit1 = 0; suit1 < 4; suit1++) {
+			for(int suit2 = 0; suit2 < 4; suit2++) {
+				boolean matches = isPair(index) ? suit1 < suit2 : isSuited(index) == (suit1 == suit2);
+				if(matches) {
+					combinations[count++] = new int[] { value1 * 4 + suit1, value2 * 4 + suit2 };
+				}
+			}
+		}
+		return combinations;
+	}
+
+	/**
+	 * @param index The index of a starting hand
+	 * @return the usual short name of the starting hand, e. g. "AKs", "T9o" or "77"
+	 */
+	public static String getName(final int index) {
+		int high = Math.max(index / NUMBER_OF_VALUES, index % NUMBER_OF_VALUES);
+		int low = Math.min(index / NUMBER_OF_VALUES, index % NUMBER_OF_VALUES);
+		String name = shortName(VALUES[high]) + shortName(VALUES[low]);
+
+		if(isPair(index)) {
+			return name;
+		}
+		return name + (isSuited(index) ? "s" : "o");
+	}
+
+	/************************ Private methods *************************/
+
+	private static String shortName(final CardValue value) {
+		// the enum constants are named like the usual short names, with a leading underscore for the digits
+		return value.name().replace("_", "");
+	}
+}
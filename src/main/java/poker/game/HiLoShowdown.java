@@ -0,0 +1,156 @@
+package poker.game;
+
+import poker.error.HandSizeError;
+import poker.eval.FastEvaluator;
+import poker.eval.LowEvaluator;
+import poker.eval.OmahaEvaluator;
+import poker.eval.PackedCard;
+
+/**
+ * Settles the showdown of Hi/Lo split pot games between any number of players. Half of the pot goes to the best
+ * high hand, the other half to the best eight or better low (see LowEvaluator). If no player has a qualifying low,
+ * the high hand takes the whole pot.
+ *
+ * Both halves are evaluated in a single pass over the players. Chips that cannot be split evenly go to the high
+ * half, and within a half to the winners in seat order, starting with the first player. A HiLoShowdown object keeps
+ * its working arrays between showdowns, so it should not be shared between threads.
+ *
+ */
+public class HiLoShowdown {
+
+	private final FastEvaluator evaluator;
+	private final OmahaEvaluator omahaEvaluator;
+	private int[] highStrengths = new int[0];
+	private int[] lowStrengths = new int[0];
+
+	public HiLoShowdown() {
+		this(new FastEvaluator());
+	}
+
+	/**
+	 * @param evaluator The engine used for evaluating the high hands
+	 */
+	public HiLoShowdown(final FastEvaluator evaluator) {
+		this.evaluator = evaluator;
+		this.omahaEvaluator = new OmahaEvaluator(evaluator);
+	}
+
+	/************************ Public methods ***********************/
+
+	/**
+	 * Settles an Omaha Hi/Lo (or Omaha-5 Hi/Lo) showdown.
+	 *
+	 * @param board The five packed board cards
+	 * @param holes The packed hole cards of each player in the showdown
+	 * @param pot The number of chips in the pot
+	 * @param payouts The array the number of chips won by each player is stored in, indexed like holes
+	 * @throws HandSizeError is thrown when the board does not hold five cards, or a player not four or five cards
+	 * @throws IllegalArgumentException is thrown when there is no player, or the payouts array is too short
+	 */
+	public void settleOmaha(final int[] board, final int[][] holes, final long pot, final long[] payouts) throws HandSizeError {
+
+		if(board.length != 5) {
+			throw new HandSizeError(board.length);
+		}
+		checkPlayers(holes.length, payouts);
+
+		ensureCapacity(holes.length);
+		omahaEvaluator.setBoard(board);
+
+		for(int player = 0; player < holes.length; player++) {
+			omahaEvaluator.evaluateHiLo(holes[player], highStrengths, lowStrengths, player);
+		}
+
+		split(holes.length, pot, payouts);
+	}
+
+	/**
+	 * Settles a Seven Card Stud Hi/Lo showdown, where every player makes the best high and the best low out of any
+	 * of the own cards.
+	 *
+	 * @param hands The packed cards of each player in the showdown
+	 * @param pot The number of chips in the pot
+	 * @param payouts The array the number of chips won by each player is stored in, indexed like hands
+	 * @throws HandSizeError is thrown when a player holds less than five or more than seven cards
+	 * @throws IllegalArgumentException is thrown when there is no player, or the payouts array is too short
+	 */
+	public void settleStud(final int[][] hands, final long pot, final long[] payouts) throws HandSizeError {
+
+		checkPlayers(hands.length, payouts);
+		ensureCapacity(hands.length);
+
+		for(int player = 0; player < hands.length; player++) {
+			int[] hand = hands[player];
+			if(hand.length < 5 || hand.length > 7) {
+				throw new HandSizeError(hand.length, "5 to 7");
+			}
+
+			long cards = PackedCard.toMask(hand, 0, hand.length);
+			highStrengths[player] = evaluator.evaluate(cards);
+			lowStrengths[player] = LowEvaluator.evaluate(cards);
+		}
+
+		split(hands.length, pot, payouts);
+	}
+
+	/************************ Private methods *************************/
+
+	private static void checkPlayers(final int numberOfPlayers, final long[] payouts) {
+		if(numberOfPlayers == 0) {
+			throw new IllegalArgumentException("A showdown needs at least one player");
+		}
+		if(payouts.length < numberOfPlayers) {
+			throw new IllegalArgumentException("The payouts array holds " + payouts.length + " entries for " + numberOfPlayers + " players");
+		}
+	}
+
+	private void ensureCapacity(final int numberOfPlayers) {
+		if(highStrengths.length < numberOfPlayers) {
+			highStrengths = new int[numberOfPlayers];
+			lowStrengths = new int[numberOfPlayers];
+		}
+	}
+
+	private void split(final int numberOfPlayers, final long pot, final long[] payouts) {
+
+		int bestHigh = -1;
+		int bestLow = LowEvaluator.NO_LOW;
+
+		for(int player = 0; player < numberOfPlayers; player++) {
+			payouts[player] = 0L;
+			bestHigh = Math.max(bestHigh, highStrengths[player]);
+			bestLow = Math.max(bestLow, lowStrengths[player]);
+		}
+
+		if(bestLow == LowEvaluator.NO_LOW) {
+			award(highStrengths, bestHigh, numberOfPlayers, pot, payouts);
+		} else {
+			long lowHalf = pot / 2;
+			award(highStrengths, bestHigh, numberOfPlayers, pot - lowHalf, payouts);
+			award(lowStrengths, bestLow, numberOfPlayers, lowHalf, payouts);
+		}
+	}
+
+	private static void award(final int[] strengths, final int best, final int numberOfPlayers, final long chips, final long[] payouts) {
+
+		int numberOfWinners = 0;
+		for(int player = 0; player < numberOfPlayers; player++) {
+			if(strengths[player] == best) {
+				numberOfWinners++;
+			}
+		}
+
+		long share = chips / numberOfWinners;
+		long oddChips = chips % numberOfWinners;
+
+		for(int player = 0; player < numberOfPlayers; player++) {
+			if(strengths[player] == best) {
+				payouts[player] += share;
+				if(oddChips > 0) {
+					payouts[player]++;
+					oddChips--;
+				}
+			}
+		}
+	}
+}
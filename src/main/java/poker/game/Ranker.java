@@ -14,6 +14,31 @@ public class Ranker {
 	 */
 	public CardHand rankHands(CardHand hand1, CardHand hand2) {
 		
+		int comparisonResult = compareHands(hand1, hand2);
+
+		if(comparisonResult > 0) {
+			System.out.println("Hand 1 has won, holding a " + hand1.getRank() + " with cards " + hand1.toString() + " against " + hand2.toString());
+			return hand1;
+		} else if(comparisonResult < 0) {
+			System.out.println("Hand 2 has won, holding a " + hand2.getRank() + " with cards " + hand2.toString() + " against " + hand1.toString());
+			return hand2;
+		} else {
+			System.out.println("There is no precedence defined for the two given hands " + hand1.toString() + " and " + hand2.toString() + ".\nShould we call it a draw?");
+			return null;
+		}
+	}
+
+	/**
+	 * Compares two Poker card hands with each other by the same rules as rankHands, but without printing anything,
+	 * e. g. for services and simulations that compare many hands.
+	 * 
+	 * @param hand1 The first hand to be ranked
+	 * @param hand2 The second hand to be ranked
+	 * @return a positive number if the first hand wins, a negative number if the second hand wins, or 0 if no
+	 * precedence is defined for the two given hands
+	 */
+	public int compareHands(CardHand hand1, CardHand hand2) {
+		
 		int comparisonResult = hand1.getRank().compareTo(hand2.getRank());
 		
 		// if both hands have the same rank, we need to compare again, this time for the relevant highest card values
@@ -64,16 +89,7 @@ public class Ranker {
 			}
 		}
 
-		if(comparisonResult > 0) {
-			System.out.println("Hand 1 has won, holding a " + hand1.getRank() + " with cards " + hand1.toString() + " against " + hand2.toString());
-			return hand1;
-		} else if(comparisonResult < 0) {
-			System.out.println("Hand 2 has won, holding a " + hand2.getRank() + " with cards " + hand2.toString() + " against " + hand1.toString());
-			return hand2;
-		} else {
-			System.out.println("There is no precedence defined for the two given hands " + hand1.toString() + " and " + hand2.toString() + ".\nShould we call it a draw?");
-			return null;
-		}
+		return comparisonResult;
 	}
 	
 	/************************ Private methods *************************/
@@ -0,0 +1,155 @@
+package poker.history;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import poker.error.HandHistoryError;
+import poker.eval.PackedCard;
+
+/**
+ * Reads the hands of a hand history one after another (see HandHistoryPipeline for the format), so that only the
+ * current hand is held in memory.
+ *
+ */
+final class HandHistoryParser {
+
+	private final BufferedReader reader;
+	private final List<String> players = new ArrayList<String>();
+	private long[] holes = new long[10];
+	// the tokens of the current line as offsets into it, so that only ids and names are copied into Strings
+	private String line;
+	private int[] tokenStarts = new int[8];
+	private int[] tokenEnds = new int[8];
+	private int tokenCount = 0;
+	private int lineNumber = 0;
+
+	HandHistoryParser(final BufferedReader reader) {
+		this.reader = reader;
+	}
+
+	/************************ Package methods ***********************/
+
+	/**
+	 * @return the next hand, or null at the end of the hand history
+	 * @throws IOException is thrown when the hand history cannot be read
+	 * @throws HandHistoryError is thrown when the hand history does not follow the format
+	 */
+	HandRecord next() throws IOException, HandHistoryError {
+
+		String id = null;
+		boolean hasBoard = false;
+		long board = 0L;
+		long usedCards = 0L;
+		players.clear();
+
+		while((line = reader.readLine()) != null) {
+			lineNumber++;
+			tokenize();
+			if(tokenCount == 0 || line.charAt(tokenStarts[0]) == '#') {
+				continue;
+			}
+
+			if(id == null && !isType("HAND")) {
+				throw new HandHistoryError(lineNumber, "Expected HAND, but found " + token(0));
+			}
+
+			if(isType("HAND")) {
+				if(id != null) {
+					throw new HandHistoryError(lineNumber, "Expected END of hand " + id + " before the next HAND");
+				}
+				if(tokenCount != 2) {
+					throw new HandHistoryError(lineNumber, "Expected HAND followed by the id of the hand");
+				}
+				id = token(1);
+			} else if(isType("BOARD")) {
+				if(hasBoard) {
+					throw new HandHistoryError(lineNumber, "Hand " + id + " has more than one BOARD");
+				}
+				if(tokenCount > 6) {
+					throw new HandHistoryError(lineNumber, "A board holds at most five cards");
+				}
+				board = parseCards(1, usedCards);
+				usedCards |= board;
+				hasBoard = true;
+			} else if(isType("PLAYER")) {
+				if(tokenCount != 2 && tokenCount != 4) {
+					throw new HandHistoryError(lineNumber, "Expected PLAYER followed by the name and no or two hole cards");
+				}
+				String name = token(1);
+				if(players.contains(name)) {
+					throw new HandHistoryError(lineNumber, "The player " + name + " is listed twice");
+				}
+				long hole = parseCards(2, usedCards);
+				usedCards |= hole;
+				if(players.size() == holes.length) {
+					holes = Arrays.copyOf(holes, holes.length * 2);
+				}
+				holes[players.size()] = hole;
+				players.add(name);
+			} else if(isType("END")) {
+				return new HandRecord(id, board, players.toArray(new String[players.size()]), Arrays.copyOf(holes, players.size()));
+			} else {
+				throw new HandHistoryError(lineNumber, "Unknown line type " + token(0));
+			}
+		}
+
+		if(id != null) {
+			throw new HandHistoryError(lineNumber, "Expected END of hand " + id + " before the end of the hand history");
+		}
+		return null;
+	}
+
+	/************************ Private methods *************************/
+
+	/**
+	 * Splits the current line at whitespace without a regular expression or substrings, as this is done for every
+	 * line of the history.
+	 */
+	private void tokenize() {
+		tokenCount = 0;
+		int start = -1;
+		for(int i = 0; i <= line.length(); i++) {
+			boolean whitespace = i == line.length() || Character.isWhitespace(line.charAt(i));
+			if(whitespace && start >= 0) {
+				if(tokenCount == tokenStarts.length) {
+					tokenStarts = Arrays.copyOf(tokenStarts, tokenCount * 2);
+					tokenEnds = Arrays.copyOf(tokenEnds, tokenCount * 2);
+				}
+				tokenStarts[tokenCount] = start;
+				tokenEnds[tokenCount] = i;
+				tokenCount++;
+				start = -1;
+			} else if(!whitespace && start < 0) {
+				start = i;
+			}
+		}
+	}
+
+	private boolean isType(final String type) {
+		return tokenEnds[0] - tokenStarts[0] == type.length() && line.startsWith(type, tokenStarts[0]);
+	}
+
+	private String token(final int index) {
+		return line.substring(tokenStarts[index], tokenEnds[index]);
+	}
+
+	private long parseCards(final int first, final long usedCards) throws HandHistoryError {
+		long cards = 0L;
+		for(int i = first; i < tokenCount; i++) {
+			long card;
+			try {
+				card = PackedCard.toMask(PackedCard.parse(line, tokenStarts[i], tokenEnds[i]));
+			} catch (IllegalArgumentException e) {
+				throw new HandHistoryError(lineNumber, e.getMessage());
+			}
+			if(((cards | usedCards) & card) != 0L) {
+				throw new HandHistoryError(lineNumber, "The card " + token(i) + " is dealt twice");
+			}
+			cards |= card;
+		}
+		return cards;
+	}
+}
@@ -0,0 +1,274 @@
+package poker.history;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import poker.error.HandHistoryError;
+import poker.eval.FastEvaluator;
+import poker.eval.HandStrength;
+import poker.store.ShowdownOutcome;
+
+/**
+ * Replays Hold'em hand histories and computes the statistics of every player (see PlayerStatistics).
+ *
+ * Hand histories are text files, in which every hand looks like this:
+ *
+ * <pre>
+ * HAND 1234
+ * BOARD Ah Kd 7c 2h 9s
+ * PLAYER alice Ad Ac
+ * PLAYER bob Kh Ks
+ * PLAYER carol
+ * END
+ * </pre>
+ *
+ * Cards are given in short notation (see PackedCard.parse). A hand has at most one board of up to five cards, and
+ * every player is listed once, with the two hole cards they showed, or without cards if they did not show any. A hand reaches a showdown if the
+ * board is complete and at least two players showed their cards; the players who showed win, split or lose against
+ * each other, all others count the hand with the outcome UNKNOWN. Blank lines and lines starting with # are ignored.
+ *
+ * Hands are streamed through three stages on separate threads: parsing, evaluating with the FastEvaluator, and
+ * aggregating. The stages pass batches of hands through bounded queues, so that memory stays bounded no matter how
+ * long the hand history is, and a slower stage makes the faster ones wait instead of letting batches pile up. If a
+ * stage fails, the other stages are cancelled, and its error is reported.
+ *
+ */
+public class HandHistoryPipeline {
+
+	/** The default number of hands passed between stages at once */
+	public static final int DEFAULT_BATCH_SIZE = 256;
+
+	/** The default number of batches a queue between two stages holds */
+	public static final int DEFAULT_QUEUE_CAPACITY = 16;
+
+	/** Marks the end of the hand history in the queues; compared by identity */
+	private static final List<HandRecord> END_OF_HISTORY = Collections.unmodifiableList(new ArrayList<HandRecord>());
+
+	private final int batchSize;
+	private final int queueCapacity;
+	private final Supplier<FastEvaluator> evaluatorFactory;
+
+	public HandHistoryPipeline() {
+		this(DEFAULT_BATCH_SIZE, DEFAULT_QUEUE_CAPACITY);
+	}
+
+	/**
+	 * @param batchSize The number of hands passed between stages at once
+	 * @param queueCapacity The number of batches a queue between two stages holds
+	 * @throws IllegalArgumentException is thrown when the batch size or the queue capacity is not positive
+	 */
+	public HandHistoryPipeline(final int batchSize, final int queueCapacity) {
+		this(batchSize, queueCapacity, FastEvaluator::new);
+	}
+
+	/**
+	 * @param batchSize The number of hands passed between stages at once
+	 * @param queueCapacity The number of batches a queue between two stages holds
+	 * @param evaluatorFactory Creates the evaluator of the evaluating stage
+	 * @throws IllegalArgumentException is thrown when the batch size or the queue capacity is not positive
+	 */
+	HandHistoryPipeline(final int batchSize, final int queueCapacity, final Supplier<FastEvaluator> evaluatorFactory) {
+		if(batchSize <= 0) {
+			throw new IllegalArgumentException("The batch size must be positive: " + batchSize);
+		}
+		if(queueCapacity <= 0) {
+			throw new IllegalArgumentException("The queue capacity must be positive: " + queueCapacity);
+		}
+		this.batchSize = batchSize;
+		this.queueCapacity = queueCapacity;
+		this.evaluatorFactory = evaluatorFactory;
+	}
+
+	/************************ Public methods ***********************/
+
+	/**
+	 * Prints the statistics of all players of a hand history file.
+	 *
+	 * @param args The path of the hand history file
+	 * @throws Exception is thrown when the hand history cannot be processed
+	 */
+	public static void main(final String[] args) throws Exception {
+		long start = System.nanoTime();
+		Map<String, PlayerStatistics> statistics = new HandHistoryPipeline().process(Paths.get(args[0]));
+		for(PlayerStatistics player : statistics.values()) {
+			System.out.println(player);
+		}
+		System.out.printf("Processed %d players in %.1f ms%n", statistics.size(), (System.nanoTime() - start) / 1e6);
+	}
+
+	/**
+	 * @param file A hand history file in UTF-8
+	 * @return the statistics of all players, by name in alphabetical order
+	 * @throws IOException is thrown when the file cannot be read
+	 * @throws HandHistoryError is thrown when the file does not follow the hand history format
+	 * @throws InterruptedException is thrown when the processing is interrupted
+	 */
+	public Map<String, PlayerStatistics> process(final Path file) throws IOException, HandHistoryError, InterruptedException {
+		try(BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			return process(reader);
+		}
+	}
+
+	/**
+	 * @param reader A reader of a hand history
+	 * @return the statistics of all players, by name in alphabetical order
+	 * @throws IOException is thrown when the hand history cannot be read
+	 * @throws HandHistoryError is thrown when the hand history does not follow the format
+	 * @throws InterruptedException is thrown when the processing is interrupted
+	 */
+	public Map<String, PlayerStatistics> process(final Reader reader) throws IOException, HandHistoryError, InterruptedException {
+
+		BufferedReader bufferedReader = reader instanceof BufferedReader ? (BufferedReader)reader : new BufferedReader(reader);
+		BlockingQueue<List<HandRecord>> parsed = new ArrayBlockingQueue<List<HandRecord>>(queueCapacity);
+		BlockingQueue<List<HandRecord>> evaluated = new ArrayBlockingQueue<List<HandRecord>>(queueCapacity);
+		// looked up by hash while aggregating, sorted once at the end
+		Map<String, PlayerStatistics> statistics = new HashMap<String, PlayerStatistics>();
+
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		CompletionService<Void> completion = new ExecutorCompletionService<Void>(executor);
+		List<Future<Void>> stages = new ArrayList<Future<Void>>();
+		try {
+			stages.add(completion.submit(() -> {
+				parse(new HandHistoryParser(bufferedReader), parsed);
+				return null;
+			}));
+			stages.add(completion.submit(() -> {
+				evaluate(parsed, evaluated);
+				return null;
+			}));
+			stages.add(completion.submit(() -> {
+				aggregate(evaluated, statistics);
+				return null;
+			}));
+
+			// wait for the stages as they complete, so that the first failing stage reports its error while the stages
+			// before it may still be blocked on a full queue
+			for(int i = 0; i < stages.size(); i++) {
+				completion.take().get();
+			}
+			return new TreeMap<String, PlayerStatistics>(statistics);
+
+		} catch (ExecutionException e) {
+			if(e.getCause() instanceof IOException) {
+				throw (IOException)e.getCause();
+			} else if(e.getCause() instanceof HandHistoryError) {
+				throw (HandHistoryError)e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			// interrupts the stages that still wait for a failed stage
+			for(Future<Void> stage : stages) {
+				stage.cancel(true);
+			}
+			executor.shutdownNow();
+		}
+	}
+
+	/************************ Private methods *************************/
+
+	private void parse(final HandHistoryParser parser, final BlockingQueue<List<HandRecord>> out) throws IOException, HandHistoryError, InterruptedException {
+
+		List<HandRecord> batch = new ArrayList<HandRecord>(batchSize);
+		HandRecord hand;
+		while((hand = parser.next()) != null) {
+			batch.add(hand);
+			if(batch.size() == batchSize) {
+				out.put(batch);
+				batch = new ArrayList<HandRecord>(batchSize);
+			}
+		}
+		if(!batch.isEmpty()) {
+			out.put(batch);
+		}
+		out.put(END_OF_HISTORY);
+	}
+
+	private void evaluate(final BlockingQueue<List<HandRecord>> in, final BlockingQueue<List<HandRecord>> out) throws InterruptedException {
+
+		FastEvaluator evaluator = evaluatorFactory.get();
+		List<HandRecord> batch;
+		while((batch = in.take()) != END_OF_HISTORY) {
+			for(HandRecord hand : batch) {
+				evaluate(evaluator, hand);
+			}
+			out.put(batch);
+		}
+		out.put(END_OF_HISTORY);
+	}
+
+	private static void evaluate(final FastEvaluator evaluator, final HandRecord hand) {
+
+		int shown = 0;
+		for(long hole : hand.holes) {
+			if(hole != HandRecord.NOT_SHOWN) {
+				shown++;
+			}
+		}
+
+		boolean showdown = Long.bitCount(hand.board) == 5 && shown >= 2;
+		int best = -1;
+		int winners = 0;
+		for(int player = 0; player < hand.players.length; player++) {
+			if(showdown && hand.holes[player] != HandRecord.NOT_SHOWN) {
+				int strength = evaluator.evaluate(hand.board | hand.holes[player]);
+				hand.strengths[player] = strength;
+				if(strength > best) {
+					best = strength;
+					winners = 1;
+				} else if(strength == best) {
+					winners++;
+				}
+			} else {
+				hand.strengths[player] = -1;
+			}
+		}
+
+		for(int player = 0; player < hand.players.length; player++) {
+			if(hand.strengths[player] < 0) {
+				hand.outcomes[player] = ShowdownOutcome.UNKNOWN;
+			} else if(hand.strengths[player] < best) {
+				hand.outcomes[player] = ShowdownOutcome.LOST;
+			} else {
+				hand.outcomes[player] = winners == 1 ? ShowdownOutcome.WON : ShowdownOutcome.SPLIT;
+			}
+		}
+	}
+
+	private static void aggregate(final BlockingQueue<List<HandRecord>> in, final Map<String, PlayerStatistics> statistics) throws InterruptedException {
+
+		List<HandRecord> batch;
+		while((batch = in.take()) != END_OF_HISTORY) {
+			for(HandRecord hand : batch) {
+				for(int player = 0; player < hand.players.length; player++) {
+					PlayerStatistics playerStatistics = statistics.get(hand.players[player]);
+					if(null == playerStatistics) {
+						playerStatistics = new PlayerStatistics(hand.players[player]);
+						statistics.put(hand.players[player], playerStatistics);
+					}
+					int strength = hand.strengths[player];
+					playerStatistics.count(hand.outcomes[player], strength < 0 ? null : HandStrength.getRank(strength));
+				}
+			}
+		}
+	}
+}
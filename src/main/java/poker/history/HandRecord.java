@@ -0,0 +1,30 @@
+package poker.history;
+
+import poker.store.ShowdownOutcome;
+
+/**
+ * A single hand of a hand history as it passes through the HandHistoryPipeline: the parse stage fills in the
+ * board and the players, the evaluate stage adds the strengths and outcomes of the players who showed their cards.
+ *
+ */
+final class HandRecord {
+
+	/** The hole card mask of a player who did not show any cards */
+	static final long NOT_SHOWN = 0L;
+
+	final String id;
+	final long board;
+	final String[] players;
+	final long[] holes;
+	final int[] strengths;
+	final ShowdownOutcome[] outcomes;
+
+	HandRecord(final String id, final long board, final String[] players, final long[] holes) {
+		this.id = id;
+		this.board = board;
+		this.players = players;
+		this.holes = holes;
+		this.strengths = new int[players.length];
+		this.outcomes = new ShowdownOutcome[players.length];
+	}
+}
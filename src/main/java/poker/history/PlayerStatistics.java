@@ -0,0 +1,102 @@
+package poker.history;
+
+import poker.model.Rank;
+import poker.store.ShowdownOutcome;
+
+/**
+ * The statistics of one player over a hand history: the number of hands played, the outcomes of the showdowns, and
+ * how often the player showed down each Rank. All counts are kept in primitive arrays.
+ *
+ * PlayerStatistics objects are not thread-safe; the HandHistoryPipeline only updates them on its aggregate thread.
+ *
+ */
+public class PlayerStatistics {
+
+	private final String name;
+	private long hands = 0L;
+	private final long[] outcomeCounts = new long[ShowdownOutcome.values().length];
+	private final long[] rankCounts = new long[Rank.values().length];
+
+	/**
+	 * @param name The name of the player
+	 */
+	public PlayerStatistics(final String name) {
+		this.name = name;
+	}
+
+	/************************ Public methods ***********************/
+
+	/**
+	 * Counts a hand the player took part in.
+	 *
+	 * @param outcome The outcome of the hand for the player, UNKNOWN if the hand did not reach a showdown the player
+	 * took part in
+	 * @param rank The Rank the player showed down, or null if the hand did not reach a showdown
+	 */
+	public void count(final ShowdownOutcome outcome, final Rank rank) {
+		hands++;
+		outcomeCounts[outcome.ordinal()]++;
+		if(rank != null) {
+			rankCounts[rank.ordinal()]++;
+		}
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the number of hands the player took part in
+	 */
+	public long getHands() {
+		return hands;
+	}
+
+	/**
+	 * @return the number of showdowns the player took part in
+	 */
+	public long getShowdowns() {
+		return hands - outcomeCounts[ShowdownOutcome.UNKNOWN.ordinal()];
+	}
+
+	/**
+	 * @param outcome A showdown outcome
+	 * @return the number of hands with the given outcome
+	 */
+	public long getCount(final ShowdownOutcome outcome) {
+		return outcomeCounts[outcome.ordinal()];
+	}
+
+	/**
+	 * @param rank A Rank
+	 * @return the number of showdowns in which the player showed the given Rank
+	 */
+	public long getCount(final Rank rank) {
+		return rankCounts[rank.ordinal()];
+	}
+
+	/**
+	 * @return the share of showdowns won by the player, counting split pots as half a win, or NaN if the player did
+	 * not take part in any showdown
+	 */
+	public double getShowdownWinRate() {
+		long won = getCount(ShowdownOutcome.WON);
+		long split = getCount(ShowdownOutcome.SPLIT);
+		return (won + split / 2.0) / getShowdowns();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(name).append(": ").append(hands).append(" hands, ").append(getShowdowns()).append(" showdowns");
+		if(getShowdowns() > 0) {
+			sb.append(String.format(", %.1f %% won at showdown", getShowdownWinRate() * 100));
+			for(Rank rank : Rank.values()) {
+				if(getCount(rank) > 0) {
+					sb.append(", ").append(rank).append(' ').append(getCount(rank));
+				}
+			}
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,405 @@
+package poker.icm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Computes the tournament equities of players with the Independent Chip Model: a player finishes first with the
+ * probability of their share of all chips, and each following place is awarded the same way among the players not
+ * yet placed. A player's equity is the expected payout over all finishing orders. Players without chips have
+ * already busted and share the places after all other players evenly.
+ *
+ * Summing over all finishing orders takes factorial time. The exact computation instead runs a dynamic program over
+ * the sets of players that occupy the first places: the probability of a set of k players taking the first k
+ * places is the sum over its members j of the probability of the set without j, times the chance of j finishing
+ * next. Sets are processed layer by layer, by their number of players, and only up to the number of paid places;
+ * the sets of a layer only depend on the previous layer, so large final tables are split into chunks that are
+ * computed in parallel. This takes O(2^n * n) time and 2^n doubles of memory for n players.
+ *
+ * For larger fields, the Monte Carlo computation samples finishing orders instead. Awarding places one after another
+ * in proportion to the stacks is the same as giving every player an exponentially distributed time with the stack as
+ * its rate and ordering the players by their times, so each sample draws one random number per player and selects the
+ * paid places with a heap. Samples are split into chunks with their own random number streams, like the
+ * SimulationRunner does, so the result is reproducible for a seed no matter how many threads compute it.
+ *
+ * A calculator with more than one thread starts a pool of daemon threads on its first parallel computation and
+ * reuses it for all following ones, until it is closed.
+ *
+ */
+public class IcmCalculator implements AutoCloseable {
+
+	/** The largest number of players with chips the exact computation accepts */
+	public static final int MAX_EXACT_PLAYERS = 20;
+
+	/** The number of samples compute() uses for fields that are too large for the exact computation */
+	public static final long DEFAULT_TRIALS = 100_000L;
+
+	/** The number of samples per chunk of the Monte Carlo computation */
+	public static final int CHUNK_SIZE = 1 << 12;
+
+	/** Layers with fewer sets than this are computed on the calling thread */
+	private static final int PARALLEL_LAYER_SIZE = 1 << 14;
+
+	private static final long DEFAULT_SEED = 41L;
+
+	private final int threads;
+	private ExecutorService executor;
+
+	/**
+	 * @param threads The number of threads computing in parallel
+	 */
+	public IcmCalculator(final int threads) {
+		this.threads = threads;
+	}
+
+	/************************ Public methods ***********************/
+
+	/**
+	 * Computes the equities exactly if there are at most MAX_EXACT_PLAYERS players with chips, or with
+	 * DEFAULT_TRIALS Monte Carlo samples otherwise.
+	 *
+	 * @param stacks The chips of each player
+	 * @param payouts The payouts of the places, starting with the first place
+	 * @return the equity of each player, in the unit of the payouts
+	 * @throws IllegalArgumentException is thrown when a stack is negative or no player has chips
+	 * @throws InterruptedException is thrown when the computation is interrupted
+	 */
+	public double[] compute(final double[] stacks, final double[] payouts) throws InterruptedException {
+		if(countPlayersWithChips(stacks) <= MAX_EXACT_PLAYERS) {
+			return computeExact(stacks, payouts);
+		}
+		return computeMonteCarlo(stacks, payouts, DEFAULT_TRIALS, DEFAULT_SEED);
+	}
+
+	/**
+	 * @param stacks The chips of each player
+	 * @param payouts The payouts of the places, starting with the first place
+	 * @return the exact equity of each player, in the unit of the payouts
+	 * @throws IllegalArgumentException is thrown when a stack is negative, no player has chips, or more than
+	 * MAX_EXACT_PLAYERS players have chips
+	 * @throws InterruptedException is thrown when the computation is interrupted
+	 */
+	public double[] computeExact(final double[] stacks, final double[] payouts) throws InterruptedException {
+
+		int[] players = playersWithChips(stacks);
+		int n = players.length;
+		if(n > MAX_EXACT_PLAYERS) {
+			throw new IllegalArgumentException(n + " players are too many for the exact computation, at most " + MAX_EXACT_PLAYERS + " are supported");
+		}
+
+		double[] chips = new double[n];
+		for(int i = 0; i < n; i++) {
+			chips[i] = stacks[players[i]];
+		}
+
+		// the chips of each set of players, built from the set without its lowest player
+		double[] setChips = new double[1 << n];
+		for(int set = 1; set < setChips.length; set++) {
+			setChips[set] = setChips[set & (set - 1)] + chips[Integer.numberOfTrailingZeros(set)];
+		}
+		double totalChips = setChips[setChips.length - 1];
+
+		double[] probabilities = new double[1 << n];
+		probabilities[0] = 1.0;
+		double[] equities = new double[n];
+		int paidPlaces = Math.min(payouts.length, n);
+
+		for(int place = 1; place <= paidPlaces; place++) {
+			long layerSize = binomial(n, place);
+			if(layerSize < PARALLEL_LAYER_SIZE || threads == 1) {
+				computeLayer(chips, setChips, totalChips, probabilities, place, payouts[place - 1], 0, 1 << n, equities);
+			} else {
+				computeLayerInParallel(chips, setChips, totalChips, probabilities, place, payouts[place - 1], equities);
+			}
+		}
+
+		double[] result = new double[stacks.length];
+		for(int i = 0; i < n; i++) {
+			result[players[i]] = equities[i];
+		}
+		shareBustedPlaces(stacks, payouts, n, result);
+		return result;
+	}
+
+	/**
+	 * @param stacks The chips of each player
+	 * @param payouts The payouts of the places, starting with the first place
+	 * @param trials The number of finishing orders to be sampled
+	 * @param seed The seed all random number streams are derived from
+	 * @return the estimated equity of each player, in the unit of the payouts
+	 * @throws IllegalArgumentException is thrown when a stack is negative, no player has chips, or trials is not
+	 * positive
+	 * @throws InterruptedException is thrown when the computation is interrupted
+	 */
+	public double[] computeMonteCarlo(final double[] stacks, final double[] payouts, final long trials, final long seed) throws InterruptedException {
+
+		if(trials <= 0) {
+			throw new IllegalArgumentException("The number of trials must be positive: " + trials);
+		}
+		int[] players = playersWithChips(stacks);
+		int n = players.length;
+		double[] chips = new double[n];
+		for(int i = 0; i < n; i++) {
+			chips[i] = stacks[players[i]];
+		}
+		int paidPlaces = Math.min(payouts.length, n);
+		if(paidPlaces == 0) {
+			// nothing is paid, so there are no places to sample
+			return new double[stacks.length];
+		}
+
+		int numberOfChunks = (int)((trials + CHUNK_SIZE - 1) / CHUNK_SIZE);
+		SplittableRandom root = new SplittableRandom(seed);
+		SplittableRandom[] streams = new SplittableRandom[numberOfChunks];
+		for(int chunk = 0; chunk < numberOfChunks; chunk++) {
+			streams[chunk] = root.split();
+		}
+
+		double[][] chunkPayouts = new double[numberOfChunks][];
+		AtomicInteger nextChunk = new AtomicInteger();
+		runInParallel(() -> {
+			int[] heap = new int[paidPlaces];
+			double[] times = new double[n];
+			int chunk;
+			while((chunk = nextChunk.getAndIncrement()) < numberOfChunks) {
+				long chunkTrials = Math.min(CHUNK_SIZE, trials - (long)chunk * CHUNK_SIZE);
+				chunkPayouts[chunk] = sampleChunk(streams[chunk], chips, payouts, paidPlaces, chunkTrials, heap, times);
+			}
+		});
+
+		// merge the chunks in chunk order, so that the sums do not depend on the order the chunks finished in
+		double[] result = new double[stacks.length];
+		for(double[] chunkPayout : chunkPayouts) {
+			for(int i = 0; i < n; i++) {
+				result[players[i]] += chunkPayout[i];
+			}
+		}
+		for(int i = 0; i < n; i++) {
+			result[players[i]] /= trials;
+		}
+		shareBustedPlaces(stacks, payouts, n, result);
+		return result;
+	}
+
+	/**
+	 * Stops the threads of the calculator. A computation started afterwards starts new threads.
+	 */
+	@Override
+	public synchronized void close() {
+		if(null != executor) {
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+
+	/************************ Private methods *************************/
+
+	/**
+	 * Computes the probabilities of all sets of the given size in a range of sets, and adds the payouts of the place
+	 * their last player takes to the equities.
+	 */
+	private static void computeLayer(final double[] chips, final double[] setChips, final double totalChips, final double[] probabilities,
+			final int place, final double payout, final int from, final int to, final double[] equities) {
+
+		for(int set = from; set < to; set++) {
+			if(Integer.bitCount(set) != place) {
+				continue;
+			}
+			double probability = 0.0;
+			for(int rest = set; rest != 0; rest &= rest - 1) {
+				int player = Integer.numberOfTrailingZeros(rest);
+				int previous = set ^ (1 << player);
+				// the chance that the players of the previous set take the places before, and then this player
+				double next = probabilities[previous] * chips[player] / (totalChips - setChips[previous]);
+				probability += next;
+				equities[player] += next * payout;
+			}
+			probabilities[set] = probability;
+		}
+	}
+
+	private void computeLayerInParallel(final double[] chips, final double[] setChips, final double totalChips, final double[] probabilities,
+			final int place, final double payout, final double[] equities) throws InterruptedException {
+
+		int sets = probabilities.length;
+		int numberOfChunks = threads * 4;
+		double[][] chunkEquities = new double[numberOfChunks][chips.length];
+		AtomicInteger nextChunk = new AtomicInteger();
+		runInParallel(() -> {
+			int chunk;
+			while((chunk = nextChunk.getAndIncrement()) < numberOfChunks) {
+				int from = (int)((long)sets * chunk / numberOfChunks);
+				int to = (int)((long)sets * (chunk + 1) / numberOfChunks);
+				computeLayer(chips, setChips, totalChips, probabilities, place, payout, from, to, chunkEquities[chunk]);
+			}
+		});
+
+		for(double[] chunkEquity : chunkEquities) {
+			for(int player = 0; player < equities.length; player++) {
+				equities[player] += chunkEquity[player];
+			}
+		}
+	}
+
+	private static double[] sampleChunk(final SplittableRandom random, final double[] chips, final double[] payouts, final int paidPlaces,
+			final long trials, final int[] heap, final double[] times) {
+
+		double[] sums = new double[chips.length];
+		for(long trial = 0; trial < trials; trial++) {
+
+			// keep the players with the earliest times in a heap whose root is the latest of them
+			int size = 0;
+			for(int player = 0; player < chips.length; player++) {
+				times[player] = -Math.log(1.0 - random.nextDouble()) / chips[player];
+				if(size < paidPlaces) {
+					heap[size++] = player;
+					siftUp(heap, size - 1, times);
+				} else if(times[player] < times[heap[0]]) {
+					heap[0] = player;
+					siftDown(heap, size, times);
+				}
+			}
+
+			// remove the latest player until the heap is empty, which awards the paid places from the last one
+			for(int place = paidPlaces; place > 0; place--) {
+				sums[heap[0]] += payouts[place - 1];
+				heap[0] = heap[--size];
+				siftDown(heap, size, times);
+			}
+		}
+		return sums;
+	}
+
+	private static void siftUp(final int[] heap, final int index, final double[] times) {
+		int child = index;
+		while(child > 0) {
+			int parent = (child - 1) / 2;
+			if(times[heap[parent]] >= times[heap[child]]) {
+				return;
+			}
+			swap(heap, parent, child);
+			child = parent;
+		}
+	}
+
+	private static void siftDown(final int[] heap, final int size, final double[] times) {
+		int parent = 0;
+		while(2 * parent + 1 < size) {
+			int child = 2 * parent + 1;
+			if(child + 1 < size && times[heap[child + 1]] > times[heap[child]]) {
+				child++;
+			}
+			if(times[heap[parent]] >= times[heap[child]]) {
+				return;
+			}
+			swap(heap, parent, child);
+			parent = child;
+		}
+	}
+
+	private static void swap(final int[] heap, final int i, final int j) {
+		int player = heap[i];
+		heap[i] = heap[j];
+		heap[j] = player;
+	}
+
+	/**
+	 * Runs a task on all threads of the calculator and waits for all of them; a single thread runs the task itself.
+	 */
+	private void runInParallel(final Runnable task) throws InterruptedException {
+		if(threads == 1) {
+			task.run();
+			return;
+		}
+
+		ExecutorService pool = getExecutor();
+		List<Future<?>> futures = new ArrayList<Future<?>>();
+		try {
+			for(int i = 0; i < threads; i++) {
+				futures.add(pool.submit(task));
+			}
+			for(Future<?> future : futures) {
+				future.get();
+			}
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			// stops the other tasks if one failed or the caller was interrupted
+			for(Future<?> future : futures) {
+				future.cancel(true);
+			}
+		}
+	}
+
+	private synchronized ExecutorService getExecutor() {
+		if(null == executor) {
+			executor = Executors.newFixedThreadPool(threads, task -> {
+				Thread thread = new Thread(task, "icm-calculator");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return executor;
+	}
+
+	/**
+	 * Shares the payouts of the places after the players with chips evenly among the players without chips.
+	 */
+	private static void shareBustedPlaces(final double[] stacks, final double[] payouts, final int playersWithChips, final double[] result) {
+		int busted = stacks.length - playersWithChips;
+		if(busted == 0) {
+			return;
+		}
+		double shared = 0.0;
+		for(int place = playersWithChips; place < Math.min(payouts.length, stacks.length); place++) {
+			shared += payouts[place];
+		}
+		for(int player = 0; player < stacks.length; player++) {
+			if(stacks[player] == 0.0) {
+				result[player] = shared / busted;
+			}
+		}
+	}
+
+	private static int[] playersWithChips(final double[] stacks) {
+		int[] players = new int[countPlayersWithChips(stacks)];
+		int count = 0;
+		for(int player = 0; player < stacks.length; player++) {
+			if(stacks[player] > 0.0) {
+				players[count++] = player;
+			}
+		}
+		if(count == 0) {
+			throw new IllegalArgumentException("No player has any chips: " + Arrays.toString(stacks));
+		}
+		return players;
+	}
+
+	private static int countPlayersWithChips(final double[] stacks) {
+		int count = 0;
+		for(double stack : stacks) {
+			if(stack < 0.0 || Double.isNaN(stack)) {
+				throw new IllegalArgumentException("Not a stack: " + stack);
+			}
+			if(stack > 0.0) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static long binomial(final int n, final int k) {
+		long result = 1L;
+		for(int i = 1; i <= k; i++) {
+			result = result * (n - k + i) / i;
+		}
+		return result;
+	}
+}
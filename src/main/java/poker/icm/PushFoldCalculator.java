@@ -0,0 +1,260 @@
+package poker.icm;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import poker.equity.PreflopEquityTable;
+import poker.eval.StartingHands;
+
+/**
+ * Answers push or fold decisions (see PushFoldSpot) by combining the heads-up equities of starting hands with the
+ * tournament equities of the IcmCalculator. The chips a player may end up with after folding, stealing the blinds,
+ * or winning or losing the all-in do not depend on the hole cards, so each spot needs only a handful of ICM
+ * equities, which are then weighed with the starting hand equities. This takes a fraction of a millisecond for a
+ * final table.
+ *
+ * Ranges are weights of starting hands, i. e. the share of each starting hand a player plays, and count each
+ * starting hand with its number of hole card combinations. Like most push or fold charts, the calculator ignores
+ * that the player's own hole cards remove some combinations from the opponent's range.
+ *
+ * A starting hand equity counts a split pot as half a win, so the calculator treats a split as winning the all-in
+ * half of the time and losing it the other half. After a real split both players keep their stacks, whose tournament
+ * equity is slightly more than that average, as ICM equities grow less than linearly with the chips; the error is
+ * small, because few all-ins between two different starting hands end in a split.
+ *
+ */
+public class PushFoldCalculator {
+
+	/** The number of rounds of fictitious play solve() runs */
+	public static final int ITERATIONS = 200;
+
+	private static final int SIZE = StartingHands.NUMBER_OF_STARTING_HANDS;
+	private static final int NUMBER_OF_COMBINATIONS = 1326;
+	private static final int[] COMBINATIONS = new int[SIZE];
+
+	static {
+		for(int hand = 0; hand < COMBINATIONS.length; hand++) {
+			COMBINATIONS[hand] = StartingHands.getCombinations(hand).length;
+		}
+	}
+
+	private final IcmCalculator icm;
+	// the equities of all pairs of starting hands, row by row, so that a range equity is a dot product
+	private final double[] equities = new double[SIZE * SIZE];
+
+	/**
+	 * @param icm The calculator of the tournament equities
+	 * @param equity The heads-up equities of starting hands, e. g. PreflopEquityTable::getEquity
+	 * @throws IllegalArgumentException is thrown when an equity is not a share between 0 and 1, such as the NaN
+	 * equities of a partial PreflopEquityTable
+	 */
+	public PushFoldCalculator(final IcmCalculator icm, final StartingHandEquity equity) {
+		this.icm = icm;
+		for(int hand1 = 0; hand1 < SIZE; hand1++) {
+			for(int hand2 = 0; hand2 < SIZE; hand2++) {
+				double share = equity.getEquity(hand1, hand2);
+				// written as a negated range check, so that NaN is rejected as well
+				if(!(share >= 0.0 && share <= 1.0)) {
+					throw new IllegalArgumentException("No equity of " + StartingHands.getName(hand1) + " against "
+							+ StartingHands.getName(hand2) + ": " + share);
+				}
+				equities[hand1 * SIZE + hand2] = share;
+			}
+		}
+	}
+
+	/************************ Public methods ***********************/
+
+	/**
+	 * Prints the pushing and calling ranges of a spot.
+	 *
+	 * Arguments: [preflop equity table file] [stacks, separated by commas] [payouts, separated by commas] [pusher]
+	 * [caller] [small blind] [big blind] [ante]
+	 *
+	 * @param args The arguments described above
+	 * @throws Exception is thrown when the table cannot be read or the computation fails
+	 */
+	public static void main(final String[] args) throws Exception {
+
+		PreflopEquityTable table = PreflopEquityTable.load(Paths.get(args[0]));
+		PushFoldSpot spot = new PushFoldSpot(parseNumbers(args[1]), parseNumbers(args[2]), Integer.parseInt(args[3]),
+				Integer.parseInt(args[4]), Double.parseDouble(args[5]), Double.parseDouble(args[6]), args.length > 7 ? Double.parseDouble(args[7]) : 0.0);
+		long start;
+		PushFoldResult[] results;
+		try(IcmCalculator icm = new IcmCalculator(Runtime.getRuntime().availableProcessors())) {
+			PushFoldCalculator calculator = new PushFoldCalculator(icm, table::getEquity);
+			start = System.nanoTime();
+			results = calculator.solve(spot);
+		}
+		long elapsed = System.nanoTime() - start;
+
+		System.out.println(results[0]);
+		System.out.println(results[1]);
+		System.out.printf("Solved in %.2f ms%n", elapsed / 1e6);
+	}
+
+	/**
+	 * @param spot The decision
+	 * @param callingRange For each starting hand, whether the caller calls with it
+	 * @return the equities of the pusher's options against the given calling range
+	 * @throws InterruptedException is thrown when the computation is interrupted
+	 */
+	public PushFoldResult evaluatePush(final PushFoldSpot spot, final boolean[] callingRange) throws InterruptedException {
+		return evaluatePush(new Outcomes(icm, spot), toWeights(callingRange));
+	}
+
+	/**
+	 * @param spot The decision
+	 * @param pushingRange For each starting hand, whether the pusher pushes with it
+	 * @return the equities of the caller's options against the given pushing range; if the range is empty, the caller
+	 * never faces the decision and the equities of calling are NaN
+	 * @throws InterruptedException is thrown when the computation is interrupted
+	 */
+	public PushFoldResult evaluateCall(final PushFoldSpot spot, final boolean[] pushingRange) throws InterruptedException {
+		return evaluateCall(new Outcomes(icm, spot), toWeights(pushingRange));
+	}
+
+	/**
+	 * Approximates the ranges of an equilibrium, in which neither player gains by changing their range, by
+	 * fictitious play: in each round, both players choose the best response to the average of all ranges the
+	 * opponent chose in the rounds before. Simply alternating best responses can cycle forever between pushing
+	 * everything and pushing only the best hands, while the averages settle.
+	 *
+	 * @param spot The decision
+	 * @return the pusher's decision against the average calling range, and the caller's decision against the average
+	 * pushing range
+	 * @throws InterruptedException is thrown when the computation is interrupted
+	 */
+	public PushFoldResult[] solve(final PushFoldSpot spot) throws InterruptedException {
+
+		Outcomes outcomes = new Outcomes(icm, spot);
+		double[] pushingWeights = new double[SIZE];
+		double[] callingWeights = new double[SIZE];
+		Arrays.fill(pushingWeights, 1.0);
+		Arrays.fill(callingWeights, 1.0);
+
+		for(int round = 1; round <= ITERATIONS; round++) {
+			boolean[] pushingRange = evaluatePush(outcomes, callingWeights).getRange();
+			boolean[] callingRange = evaluateCall(outcomes, pushingWeights).getRange();
+			for(int hand = 0; hand < SIZE; hand++) {
+				pushingWeights[hand] += ((pushingRange[hand] ? 1.0 : 0.0) - pushingWeights[hand]) / (round + 1);
+				callingWeights[hand] += ((callingRange[hand] ? 1.0 : 0.0) - callingWeights[hand]) / (round + 1);
+			}
+		}
+		return new PushFoldResult[] { evaluatePush(outcomes, callingWeights), evaluateCall(outcomes, pushingWeights) };
+	}
+
+	/************************ Package methods ***********************/
+
+	/**
+	 * @return the share of all hole card combinations that the given range weights hold
+	 */
+	static double shareOfCombinations(final double[] weights) {
+		double combinations = 0.0;
+		for(int hand = 0; hand < weights.length; hand++) {
+			combinations += weights[hand] * COMBINATIONS[hand];
+		}
+		return combinations / NUMBER_OF_COMBINATIONS;
+	}
+
+	/************************ Private methods *************************/
+
+	private PushFoldResult evaluatePush(final Outcomes outcomes, final double[] callingWeights) {
+		double[] combinations = weighCombinations(callingWeights);
+		double calls = combinations[SIZE] / NUMBER_OF_COMBINATIONS;
+		double[] push = new double[SIZE];
+		for(int hand = 0; hand < SIZE; hand++) {
+			push[hand] = (1.0 - calls) * outcomes.pusherSteals;
+			if(calls > 0.0) {
+				double handEquity = rangeEquity(hand, combinations);
+				push[hand] += calls * (handEquity * outcomes.pusherWins + (1.0 - handEquity) * outcomes.pusherLoses);
+			}
+		}
+		return new PushFoldResult("push", push, outcomes.pusherFolds, callingWeights);
+	}
+
+	private PushFoldResult evaluateCall(final Outcomes outcomes, final double[] pushingWeights) {
+		double[] combinations = weighCombinations(pushingWeights);
+		double[] call = new double[SIZE];
+		for(int hand = 0; hand < SIZE; hand++) {
+			double handEquity = rangeEquity(hand, combinations);
+			call[hand] = handEquity * outcomes.callerWins + (1.0 - handEquity) * outcomes.callerLoses;
+		}
+		return new PushFoldResult("call", call, outcomes.callerFolds, pushingWeights);
+	}
+
+	/**
+	 * @return the weighted number of combinations of each starting hand, followed by their sum
+	 */
+	private static double[] weighCombinations(final double[] weights) {
+		double[] combinations = new double[SIZE + 1];
+		for(int hand = 0; hand < SIZE; hand++) {
+			combinations[hand] = weights[hand] * COMBINATIONS[hand];
+			combinations[SIZE] += combinations[hand];
+		}
+		return combinations;
+	}
+
+	/**
+	 * @return the equity of a starting hand against a range, or NaN if the range holds no combinations
+	 */
+	private double rangeEquity(final int hand, final double[] combinations) {
+		double weightedEquity = 0.0;
+		int row = hand * SIZE;
+		for(int opponent = 0; opponent < SIZE; opponent++) {
+			weightedEquity += combinations[opponent] * equities[row + opponent];
+		}
+		return weightedEquity / combinations[SIZE];
+	}
+
+	private static double[] toWeights(final boolean[] range) {
+		double[] weights = new double[range.length];
+		for(int hand = 0; hand < range.length; hand++) {
+			weights[hand] = range[hand] ? 1.0 : 0.0;
+		}
+		return weights;
+	}
+
+	private static double[] parseNumbers(final String list) {
+		String[] items = list.split(",");
+		double[] numbers = new double[items.length];
+		for(int i = 0; i < items.length; i++) {
+			numbers[i] = Double.parseDouble(items[i].trim());
+		}
+		return numbers;
+	}
+
+	/************************ Private classes *************************/
+
+	/**
+	 * The tournament equities of the pusher and the caller after each way the spot can end.
+	 */
+	private static final class Outcomes {
+
+		private final double pusherFolds;
+		private final double pusherSteals;
+		private final double pusherWins;
+		private final double pusherLoses;
+		private final double callerFolds;
+		private final double callerWins;
+		private final double callerLoses;
+
+		private Outcomes(final IcmCalculator icm, final PushFoldSpot spot) throws InterruptedException {
+			int pusher = spot.getPusher();
+			int caller = spot.getCaller();
+			double[] payouts = spot.getPayouts();
+
+			double[] afterSteal = icm.compute(spot.afterSteal(), payouts);
+			double[] afterPusherWins = icm.compute(spot.afterShowdown(pusher), payouts);
+			double[] afterCallerWins = icm.compute(spot.afterShowdown(caller), payouts);
+
+			this.pusherFolds = icm.compute(spot.afterFold(), payouts)[pusher];
+			this.pusherSteals = afterSteal[pusher];
+			this.pusherWins = afterPusherWins[pusher];
+			this.pusherLoses = afterCallerWins[pusher];
+			this.callerFolds = afterSteal[caller];
+			this.callerWins = afterCallerWins[caller];
+			this.callerLoses = afterPusherWins[caller];
+		}
+	}
+}
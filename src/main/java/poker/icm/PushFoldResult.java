@@ -0,0 +1,99 @@
+package poker.icm;
+
+import java.util.Arrays;
+
+import poker.eval.StartingHands;
+
+/**
+ * The tournament equities of one player's push or call decision for every starting hand, compared with the equity
+ * of folding. The player's range holds the starting hands for which the action is worth more than folding.
+ *
+ */
+public final class PushFoldResult {
+
+	private final String action;
+	private final double[] actionEquities;
+	private final double foldEquity;
+	private final double[] opponentWeights;
+
+	PushFoldResult(final String action, final double[] actionEquities, final double foldEquity, final double[] opponentWeights) {
+		this.action = action;
+		this.actionEquities = actionEquities;
+		this.foldEquity = foldEquity;
+		this.opponentWeights = Arrays.copyOf(opponentWeights, opponentWeights.length);
+	}
+
+	/************************ Public methods ***********************/
+
+	/**
+	 * @return "push" or "call"
+	 */
+	public String getAction() {
+		return action;
+	}
+
+	/**
+	 * @param hand The index of a starting hand
+	 * @return the tournament equity of pushing or calling with the starting hand, in the unit of the payouts
+	 */
+	public double getActionEquity(final int hand) {
+		return actionEquities[hand];
+	}
+
+	/**
+	 * @return the tournament equity of folding, in the unit of the payouts
+	 */
+	public double getFoldEquity() {
+		return foldEquity;
+	}
+
+	/**
+	 * @param hand The index of a starting hand
+	 * @return true if pushing or calling with the starting hand is worth more than folding
+	 */
+	public boolean isInRange(final int hand) {
+		return actionEquities[hand] > foldEquity;
+	}
+
+	/**
+	 * @return for each starting hand, whether it belongs to the range
+	 */
+	public boolean[] getRange() {
+		boolean[] range = new boolean[StartingHands.NUMBER_OF_STARTING_HANDS];
+		for(int hand = 0; hand < range.length; hand++) {
+			range[hand] = isInRange(hand);
+		}
+		return range;
+	}
+
+	/**
+	 * @return the range weights of the opponent this decision was evaluated against, i. e. the share of each starting
+	 * hand the opponent calls with for a push, or pushes with for a call
+	 */
+	public double[] getOpponentWeights() {
+		return Arrays.copyOf(opponentWeights, opponentWeights.length);
+	}
+
+	/**
+	 * @return the share of all 1326 hole card combinations that belong to the range
+	 */
+	public double getRangeShare() {
+		double[] weights = new double[actionEquities.length];
+		for(int hand = 0; hand < weights.length; hand++) {
+			weights[hand] = isInRange(hand) ? 1.0 : 0.0;
+		}
+		return PushFoldCalculator.shareOfCombinations(weights);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(action).append(String.format(" %.1f %%:", getRangeShare() * 100));
+		for(int hand = 0; hand < actionEquities.length; hand++) {
+			if(isInRange(hand)) {
+				sb.append(' ').append(StartingHands.getName(hand));
+			}
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,148 @@
+package poker.icm;
+
+import java.util.Arrays;
+
+/**
+ * A push or fold decision late in a tournament: everyone has folded to the player in the small blind, who either
+ * folds or goes all-in, and the player in the big blind then either folds or calls.
+ *
+ * Every player at the table has posted the ante; the blinds and antes are taken from the stacks given here, or
+ * as much of them as a player has.
+ *
+ */
+public final class PushFoldSpot {
+
+	private final double[] stacks;
+	private final double[] payouts;
+	private final int pusher;
+	private final int caller;
+	private final double smallBlind;
+	private final double bigBlind;
+	private final double ante;
+
+	/**
+	 * @param stacks The chips of each player before the blinds and antes are posted
+	 * @param payouts The payouts of the places, starting with the first place
+	 * @param pusher The index of the player in the small blind
+	 * @param caller The index of the player in the big blind
+	 * @param smallBlind The small blind
+	 * @param bigBlind The big blind
+	 * @param ante The ante each player posts
+	 * @throws IllegalArgumentException is thrown when the pusher and the caller are the same player or either has no chips
+	 */
+	public PushFoldSpot(final double[] stacks, final double[] payouts, final int pusher, final int caller,
+			final double smallBlind, final double bigBlind, final double ante) {
+
+		if(pusher == caller || stacks[pusher] <= 0.0 || stacks[caller] <= 0.0) {
+			throw new IllegalArgumentException("The pusher and the caller must be two different players with chips");
+		}
+		this.stacks = Arrays.copyOf(stacks, stacks.length);
+		this.payouts = Arrays.copyOf(payouts, payouts.length);
+		this.pusher = pusher;
+		this.caller = caller;
+		this.smallBlind = smallBlind;
+		this.bigBlind = bigBlind;
+		this.ante = ante;
+	}
+
+	/************************ Public methods ***********************/
+
+	public double[] getStacks() {
+		return Arrays.copyOf(stacks, stacks.length);
+	}
+
+	public double[] getPayouts() {
+		return Arrays.copyOf(payouts, payouts.length);
+	}
+
+	public int getPusher() {
+		return pusher;
+	}
+
+	public int getCaller() {
+		return caller;
+	}
+
+	public double getSmallBlind() {
+		return smallBlind;
+	}
+
+	public double getBigBlind() {
+		return bigBlind;
+	}
+
+	public double getAnte() {
+		return ante;
+	}
+
+	/************************ Package methods ***********************/
+
+	/**
+	 * @return the stacks after everyone folded to the big blind, who wins the pot
+	 */
+	double[] afterFold() {
+		return afterPot(caller, postedStacks(), blindsAndAntes());
+	}
+
+	/**
+	 * @return the stacks after the pusher went all-in and the caller folded
+	 */
+	double[] afterSteal() {
+		return afterPot(pusher, postedStacks(), blindsAndAntes());
+	}
+
+	/**
+	 * @param winner The index of the pusher or the caller
+	 * @return the stacks after the caller called the all-in of the pusher and the given player won the pot
+	 */
+	double[] afterShowdown(final int winner) {
+		// both players put in as much as the shorter one has left after the antes
+		double allIn = Math.min(afterAnte(pusher), afterAnte(caller));
+		double[] stacksBehind = new double[stacks.length];
+		for(int player = 0; player < stacks.length; player++) {
+			stacksBehind[player] = afterAnte(player);
+		}
+		stacksBehind[pusher] -= allIn;
+		stacksBehind[caller] -= allIn;
+		return afterPot(winner, stacksBehind, antes() + 2 * allIn);
+	}
+
+	/************************ Private methods *************************/
+
+	/**
+	 * @return the stacks after the antes and blinds are posted
+	 */
+	private double[] postedStacks() {
+		double[] posted = new double[stacks.length];
+		for(int player = 0; player < stacks.length; player++) {
+			posted[player] = afterAnte(player);
+		}
+		posted[pusher] -= Math.min(smallBlind, posted[pusher]);
+		posted[caller] -= Math.min(bigBlind, posted[caller]);
+		return posted;
+	}
+
+	/**
+	 * @return the antes of all players plus the blinds, as far as the players have them
+	 */
+	private double blindsAndAntes() {
+		return antes() + Math.min(smallBlind, afterAnte(pusher)) + Math.min(bigBlind, afterAnte(caller));
+	}
+
+	private double antes() {
+		double antes = 0.0;
+		for(double stack : stacks) {
+			antes += Math.min(ante, stack);
+		}
+		return antes;
+	}
+
+	private double afterAnte(final int player) {
+		return stacks[player] - Math.min(ante, stacks[player]);
+	}
+
+	private static double[] afterPot(final int winner, final double[] stacksBehind, final double pot) {
+		stacksBehind[winner] += pot;
+		return stacksBehind;
+	}
+}
@@ -0,0 +1,16 @@
+package poker.icm;
+
+/**
+ * The heads-up all-in equities of starting hands (see StartingHands), e. g. PreflopEquityTable::getEquity.
+ *
+ */
+@FunctionalInterface
+public interface StartingHandEquity {
+
+	/**
+	 * @param hand1 The index of the first starting hand
+	 * @param hand2 The index of the second starting hand
+	 * @return the share of the pot the first starting hand wins on average against the second one
+	 */
+	double getEquity(int hand1, int hand2);
+}
@@ -1,16 +1,8 @@
 package poker.model;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.stream.Collectors;
-
-import one.util.streamex.EntryStream;
-import one.util.streamex.StreamEx;
-
 import java.util.NavigableSet;
 import java.util.TreeSet;
 
@@ -23,9 +15,16 @@ import poker.error.HandSizeError;
  */
 public class CardHand {
 
+	private static final CardValue[] VALUES = CardValue.values();
+
 	private NavigableSet<Card> hand = new TreeSet<Card>();
 	private Rank rank = Rank.HIGH_CARD;
 	
+	// the cards of the hand in their natural order, and the number of cards per CardValue ordinal, which are kept
+	// alongside the set, so that evaluating and querying the hand does not allocate anything
+	private final Card[] sortedCards = new Card[5];
+	private final int[] valueCounts = new int[VALUES.length];
+	
 	/************************ Constructors ****************************/
 	
 	/**
@@ -70,21 +69,31 @@ public class CardHand {
 	/************************ Public methods ***********************/
 	
 	/**
-	 * Determines the value of the lowest (or only) pair on this hand.
+	 * Determines the value of the lowest (or only) pair on this hand. Threes and fours count as pairs, too.
 	 * 
 	 * @return The integer value of the lowest pair on this hand, or 0 if this hand has no pair at all
 	 */
 	public int findLowestPairValue() {
-		return findFirstPairValue(new ArrayList<Card>(hand));
+		for(int value = 0; value < VALUES.length; value++) {
+			if(valueCounts[value] >= 2) {
+				return VALUES[value].getIntValue();
+			}
+		}
+		return 0;
 	}
 	
 	/**
-	 * Determines the value of the highest (or only) pair on this hand.
+	 * Determines the value of the highest (or only) pair on this hand. Threes and fours count as pairs, too.
 	 * 
 	 * @return The integer value of the highest pair on this hand, or 0 if this hand has no pair at all
 	 */
 	public int findHighestPairValue() {
-	    return findFirstPairValue(StreamEx.ofReversed(new ArrayList<Card>(hand)).toList());
+		for(int value = VALUES.length - 1; value >= 0; value--) {
+			if(valueCounts[value] >= 2) {
+				return VALUES[value].getIntValue();
+			}
+		}
+		return 0;
 	}
 	
 	/**
@@ -94,23 +103,43 @@ public class CardHand {
 	 * @return The value of the highest single card, or 0 if there is none in this hand 
 	 */
 	public int findHighestSingleCardValue() {
-	    
-	    return EntryStream.of(
-    	    hand.stream()
-    	        .collect(Collectors.groupingBy(Card::getIntValue, Collectors.counting())))
-	        .filter((entry) -> entry.getValue() == 1)
-	        .map((entry) -> entry.getKey())
-	        .max(Integer::compare)
-	        .orElse(0);
+		for(int value = VALUES.length - 1; value >= 0; value--) {
+			if(valueCounts[value] == 1) {
+				return VALUES[value].getIntValue();
+			}
+		}
+		return 0;
 	}
 	
 	/**
-	 * Determines the 
-	 * @return
+	 * Determines the values of all single cards, i. e. the kickers of a hand with pairs, threes or fours, from the
+	 * highest to the lowest.
+	 * 
+	 * @param kickers An array of at least five elements, which the integer values of the single cards are written to
+	 * @return The number of single cards on this hand
+	 */
+	public int findKickerValues(final int[] kickers) {
+		int count = 0;
+		for(int value = VALUES.length - 1; value >= 0; value--) {
+			if(valueCounts[value] == 1) {
+				kickers[count++] = VALUES[value].getIntValue();
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * Determines the value of the three cards of the same value on this hand, e. g. of the threes of a full house.
+	 * 
+	 * @return The integer value of the threes (or fours) on this hand, or 0 if this hand has no threes at all
 	 */
 	public int findThreesValue() {
-		// We only need to look at index position 3: The card at this position must be included in the set of Three of a Kind
-		return hand.stream().collect(Collectors.toList()).get(3).getIntValue();
+		for(int value = VALUES.length - 1; value >= 0; value--) {
+			if(valueCounts[value] >= 3) {
+				return VALUES[value].getIntValue();
+			}
+		}
+		return 0;
 	}
 	
 	/**
@@ -123,6 +152,15 @@ public class CardHand {
 		return hand.last();
 	}
 
+	/**
+	 * Get the cards on this hand in their natural order (see Card.compareTo()).
+	 * 
+	 * @return an unmodifiable view of the five cards on this hand
+	 */
+	public NavigableSet<Card> getCards() {
+		return Collections.unmodifiableNavigableSet(hand);
+	}
+
 	/**
 	 * Get the current rank of the five cards on this hand.
 	 * 
@@ -153,20 +191,16 @@ public class CardHand {
 	private void evaluate() {
 		
 		// initialize temp variables for maintaining state while iterating through cards
-		Map<CardValue, Integer> values = new HashMap<CardValue, Integer>();
+		Arrays.fill(valueCounts, 0);
 		
 		Card previousCard = null;
 		int potentialFlush = 1;
 		boolean potentialStraight = true; 
 		
-		for (Card card : hand) {
+		for (int i = 0; i < hand.size(); i++) {
 			
-			CardValue currentValue = card.getCardValue();
-			if(values.containsKey(currentValue)) {
-				values.put(currentValue, values.get(currentValue) + 1);
-			} else {
-				values.put(currentValue, 1);
-			}
+			Card card = sortedCards[i];
+			valueCounts[card.getCardValue().ordinal()]++;
 			
 			if(null != previousCard && previousCard.getCardSuit() == card.getCardSuit()) {
 				potentialFlush++;
@@ -179,14 +213,7 @@ public class CardHand {
 			previousCard = card;
 		}
 
-		setRank(values, potentialFlush, potentialStraight);
-	}
-	
-	private int findFirstPairValue(List<Card> hand) {
-	    return StreamEx.ofSubLists(hand, 2, 1)
-	        .findFirst((subList) -> subList.get(0).getIntValue() == subList.get(1).getIntValue())
-	        .map((subList) -> subList.get(0).getIntValue())
-	        .orElse(0);
+		setRank(potentialFlush, potentialStraight);
 	}
 	
 	private void resetHand(final List<Card> cards) throws HandSizeError {
@@ -194,42 +221,42 @@ public class CardHand {
 		if(cards.size() == 5) {
 			hand.clear();
 			hand.addAll(cards);
+			hand.toArray(sortedCards);
 			evaluate();
 		} else {
 			throw new HandSizeError(cards.size());
 		}
 	}
 	
-	private void setRank(Map<CardValue, Integer> values, int potentialFlush, boolean potentialStraight) {
+	private void setRank(int potentialFlush, boolean potentialStraight) {
+		
+		int fours = 0, threes = 0, pairs = 0;
+		for(int count : valueCounts) {
+			if(count == 4) {
+				fours++;
+			} else if(count == 3) {
+				threes++;
+			} else if(count == 2) {
+				pairs++;
+			}
+		}
+		
 		if(potentialStraight && potentialFlush == 5) {
 			rank = Rank.STRAIGHT_FLUSH;
 		} else if (potentialFlush == 5) {
 			rank = Rank.FLUSH;
 		} else if (potentialStraight) {
 			rank = Rank.STRAIGHT;
-		} else if (values.containsValue(4)) {
+		} else if (fours > 0) {
 			rank = Rank.FOUR_OF_A_KIND;
-		} else if (values.containsValue(3) && values.containsValue(2)) {
+		} else if (threes > 0 && pairs > 0) {
 			rank = Rank.FULL_HOUSE;
-		} else if (values.containsValue(3)) {
+		} else if (threes > 0) {
 			rank = Rank.THREE_OF_A_KIND;
-		} else if (values.containsValue(2)) {
-			
-			int numberOfPairs = 0;
-			for(Entry<CardValue, Integer> entry : values.entrySet()) {
-				if(entry.getValue() == 2) {
-					numberOfPairs++;
-				}
-			}
-			switch(numberOfPairs) {
-				case 1:
-					rank = Rank.PAIR;
-					break;
-				case 2:
-					rank = Rank.TWO_PAIRS;
-					break;
-				default: // cannot occur
-			}
+		} else if (pairs == 2) {
+			rank = Rank.TWO_PAIRS;
+		} else if (pairs == 1) {
+			rank = Rank.PAIR;
 		} else {
 			rank = Rank.HIGH_CARD;
 		}
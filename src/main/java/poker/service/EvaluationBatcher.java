@@ -0,0 +1,203 @@
+package poker.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import poker.eval.BatchEvaluator;
+
+/**
+ * Collects the hands of concurrent requests into batches and evaluates each batch with a single bulk call of a
+ * BatchEvaluator on a dedicated thread.
+ *
+ * The batcher never waits for a batch to fill up: whenever the batching thread is idle, it takes all requests that
+ * have queued up in the meantime, up to the maximum batch size. A single request is therefore evaluated right away,
+ * while requests arriving faster than they can be evaluated are combined, which keeps the batching thread busy with
+ * evaluations rather than with hand-offs. The request queue is bounded, so callers block instead of piling up
+ * requests when the batcher falls behind.
+ *
+ */
+public class EvaluationBatcher implements AutoCloseable {
+
+	/** The default maximum number of hands per batch */
+	public static final int DEFAULT_MAX_BATCH_SIZE = 1 << 14;
+
+	/** The default maximum number of requests waiting for the batching thread */
+	public static final int DEFAULT_QUEUE_CAPACITY = 1 << 12;
+
+	private final BatchEvaluator evaluator;
+	private final int maxBatchSize;
+	private final BlockingQueue<Request> queue;
+	private final Thread thread;
+	private final AtomicLong batches = new AtomicLong();
+	private final AtomicLong requests = new AtomicLong();
+
+	private long[] batchCards;
+	private int[] batchStrengths;
+	private volatile boolean running = true;
+
+	public EvaluationBatcher(final BatchEvaluator evaluator) {
+		this(evaluator, DEFAULT_MAX_BATCH_SIZE, DEFAULT_QUEUE_CAPACITY);
+	}
+
+	/**
+	 * @param evaluator The evaluator all hands are evaluated with
+	 * @param maxBatchSize The maximum number of hands per batch; a single larger request is still evaluated as a whole
+	 * @param queueCapacity The maximum number of requests waiting for the batching thread
+	 */
+	public EvaluationBatcher(final BatchEvaluator evaluator, final int maxBatchSize, final int queueCapacity) {
+		this.evaluator = evaluator;
+		this.maxBatchSize = maxBatchSize;
+		this.queue = new ArrayBlockingQueue<Request>(queueCapacity);
+		this.batchCards = new long[maxBatchSize];
+		this.batchStrengths = new int[maxBatchSize];
+		this.thread = new Thread(this::run, "evaluation-batcher");
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	/************************ Public methods ***********************/
+
+	/**
+	 * Evaluates the given hands as part of the next batch and waits for the result.
+	 *
+	 * @param cards The card masks (see PackedCard) of the hands to be evaluated, each holding five to seven cards
+	 * @return the strengths of the hands, in the order of the given card masks
+	 * @throws InterruptedException is thrown when the caller is interrupted while waiting for the result
+	 */
+	public int[] evaluate(final long[] cards) throws InterruptedException {
+
+		if(!running) {
+			throw new IllegalStateException("The batcher has been closed.");
+		}
+
+		Request request = new Request(cards);
+		queue.put(request);
+		if(!running) {
+			failQueuedRequests();
+		}
+
+		try {
+			return request.result.get();
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	/**
+	 * @return the number of batches evaluated so far
+	 */
+	public long getBatches() {
+		return batches.get();
+	}
+
+	/**
+	 * @return the number of requests evaluated so far
+	 */
+	public long getRequests() {
+		return requests.get();
+	}
+
+	/**
+	 * @return the number of requests currently waiting for the batching thread
+	 */
+	public int getQueuedRequests() {
+		return queue.size();
+	}
+
+	/**
+	 * Stops the batching thread. Requests that are still queued fail with an IllegalStateException.
+	 */
+	@Override
+	public void close() {
+		running = false;
+		thread.interrupt();
+		try {
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		failQueuedRequests();
+	}
+
+	/************************ Private methods *************************/
+
+	private void run() {
+
+		List<Request> batch = new ArrayList<Request>();
+
+		while(running) {
+			try {
+				batch.add(queue.take());
+			} catch (InterruptedException e) {
+				break;
+			}
+
+			int hands = batch.get(0).cards.length;
+			Request next;
+			while(hands < maxBatchSize && (next = queue.peek()) != null && hands + next.cards.length <= maxBatchSize) {
+				batch.add(queue.poll());
+				hands += next.cards.length;
+			}
+
+			try {
+				evaluateBatch(batch, hands);
+			} catch (RuntimeException e) {
+				for(Request request : batch) {
+					request.result.completeExceptionally(e);
+				}
+			}
+			batch.clear();
+		}
+	}
+
+	private void failQueuedRequests() {
+		Request request;
+		while((request = queue.poll()) != null) {
+			request.result.completeExceptionally(new IllegalStateException("The batcher has been closed."));
+		}
+	}
+
+	private void evaluateBatch(final List<Request> batch, final int hands) {
+
+		if(batchCards.length < hands) {
+			batchCards = new long[hands];
+			batchStrengths = new int[hands];
+		}
+
+		int position = 0;
+		for(Request request : batch) {
+			System.arraycopy(request.cards, 0, batchCards, position, request.cards.length);
+			position += request.cards.length;
+		}
+
+		evaluator.evaluateAll(batchCards, batchStrengths, hands);
+
+		position = 0;
+		for(Request request : batch) {
+			int[] strengths = new int[request.cards.length];
+			System.arraycopy(batchStrengths, position, strengths, 0, strengths.length);
+			position += strengths.length;
+			request.result.complete(strengths);
+		}
+
+		batches.incrementAndGet();
+		requests.addAndGet(batch.size());
+	}
+
+	/************************ Private classes *************************/
+
+	private static final class Request {
+
+		private final long[] cards;
+		private final CompletableFuture<int[]> result = new CompletableFuture<int[]>();
+
+		private Request(final long[] cards) {
+			this.cards = cards;
+		}
+	}
+}
@@ -0,0 +1,339 @@
+package poker.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import poker.error.HandSizeError;
+import poker.eval.BatchEvaluator;
+import poker.eval.GameVariant;
+import poker.eval.PackedCard;
+
+/**
+ * An embeddable HTTP service for evaluating batches of hands, built on the JDK's HttpServer. All hands are evaluated
+ * by an EvaluationBatcher, which combines the hands of concurrent requests into bulk evaluations.
+ *
+ * The service offers two endpoints, which both accept POST requests with a binary or a JSON body:
+ *
+ * POST /evaluate evaluates hands of five to seven cards.
+ * - Binary (any content type but application/json): one byte holding the number of cards per hand, followed by one
+ * byte per packed card (see PackedCard), hand after hand. The response holds one big-endian int strength per hand.
+ * - JSON: {"hands": [["As", "Ks", "Qs", "Js", "Ts"], ...]} in short card notation (see PackedCard.parse). The
+ * response is {"strengths": [...], "ranks": [...]}, holding the strength and the name of the Rank of each hand.
+ *
+ * POST /compare compares pairs of hands.
+ * - Binary: one byte holding the number of cards per hand, followed by the packed cards of the first and the second
+ * hand of each matchup. The response holds one signed byte per matchup: 1 if the first hand wins, -1 if the second
+ * hand wins, and 0 for a split.
+ * - JSON: {"matchups": [[["As", ...], ["Kd", ...]], ...]}. The response is {"results": [...]}.
+ *
+ * Invalid requests are answered with status 400 and a plain text message, request bodies larger than
+ * MAX_REQUEST_SIZE with status 413.
+ *
+ * The JDK server writes the headers and the body of a response as separate packets, which Nagle's algorithm may delay
+ * by up to 40 ms. The server reads the system property sun.net.httpserver.nodelay once, when the first HttpServer is
+ * created, so main() sets it before; applications embedding this class should start the JVM with
+ * -Dsun.net.httpserver.nodelay=true.
+ *
+ */
+public class EvaluationServer implements AutoCloseable {
+
+	/** The maximum number of bytes in a request body */
+	public static final int MAX_REQUEST_SIZE = 1 << 20;
+
+	private static final String JSON = "application/json";
+	private static final String BINARY = "application/octet-stream";
+	private static final String TEXT = "text/plain; charset=utf-8";
+	private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final EvaluationBatcher batcher;
+	private final GameVariant variant;
+
+	/**
+	 * @param port The port to listen on, or 0 for any free port
+	 * @throws IOException is thrown when the server cannot be bound to the port
+	 */
+	public EvaluationServer(final int port) throws IOException {
+		this(new InetSocketAddress(port), Runtime.getRuntime().availableProcessors(), GameVariant.STANDARD);
+	}
+
+	/**
+	 * @param address The address to listen on
+	 * @param threads The number of threads handling requests, i. e. decoding requests and encoding responses
+	 * @param variant The variant hands are evaluated for
+	 * @throws IOException is thrown when the server cannot be bound to the address
+	 */
+	public EvaluationServer(final InetSocketAddress address, final int threads, final GameVariant variant) throws IOException {
+		this.variant = variant;
+		this.batcher = new EvaluationBatcher(BatchEvaluator.create(variant));
+		this.executor = Executors.newFixedThreadPool(threads);
+		this.server = HttpServer.create(address, 0);
+		this.server.setExecutor(executor);
+		this.server.createContext("/evaluate", this::handleEvaluate);
+		this.server.createContext("/compare", this::handleCompare);
+	}
+
+	/************************ Public methods ***********************/
+
+	/**
+	 * Starts a server on the port given as the first argument, or on port 8080. Unless set otherwise, the system
+	 * property sun.net.httpserver.nodelay is set to true before.
+	 *
+	 * @param args The optional port
+	 * @throws IOException is thrown when the server cannot be bound to the port
+	 */
+	public static void main(final String[] args) throws IOException {
+		if(System.getProperty(NO_DELAY_PROPERTY) == null) {
+			System.setProperty(NO_DELAY_PROPERTY, "true");
+		}
+		EvaluationServer server = new EvaluationServer(args.length > 0 ? Integer.parseInt(args[0]) : 8080);
+		server.start();
+		System.out.println("Evaluation server listening on port " + server.getPort());
+	}
+
+	public void start() {
+		server.start();
+	}
+
+	/**
+	 * @return the port the server listens on, which is useful if it was created for port 0
+	 */
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 * @return the batcher evaluating the hands of all requests
+	 */
+	public EvaluationBatcher getBatcher() {
+		return batcher;
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+		batcher.close();
+	}
+
+	/************************ Private methods *************************/
+
+	private void handleEvaluate(final HttpExchange exchange) throws IOException {
+		handle(exchange, false);
+	}
+
+	private void handleCompare(final HttpExchange exchange) throws IOException {
+		handle(exchange, true);
+	}
+
+	private void handle(final HttpExchange exchange, final boolean compare) throws IOException {
+
+		try {
+			if(!"POST".equals(exchange.getRequestMethod())) {
+				respond(exchange, 405, TEXT, "Only POST requests are supported.".getBytes(StandardCharsets.UTF_8));
+				return;
+			}
+
+			byte[] body = readBody(exchange);
+			if(null == body) {
+				// the rest of the body is not read, so the connection cannot be used for further requests
+				exchange.getResponseHeaders().set("Connection", "close");
+				respond(exchange, 413, TEXT, ("The request body exceeds " + MAX_REQUEST_SIZE + " bytes.").getBytes(StandardCharsets.UTF_8));
+				return;
+			}
+
+			String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+			boolean json = contentType != null && contentType.startsWith(JSON);
+
+			long[] hands = json ? decodeJson(body, compare) : decodeBinary(body, compare);
+			int[] strengths = batcher.evaluate(hands);
+
+			if(json) {
+				respond(exchange, 200, JSON, encodeJson(strengths, compare));
+			} else {
+				respond(exchange, 200, BINARY, encodeBinary(strengths, compare));
+			}
+
+		} catch (HandSizeError | IllegalArgumentException | ClassCastException e) {
+			respond(exchange, 400, TEXT, String.valueOf(e.getMessage()).getBytes(StandardCharsets.UTF_8));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			respond(exchange, 503, TEXT, "The server is shutting down.".getBytes(StandardCharsets.UTF_8));
+		} catch (IllegalStateException e) {
+			respond(exchange, 503, TEXT, String.valueOf(e.getMessage()).getBytes(StandardCharsets.UTF_8));
+		} finally {
+			exchange.close();
+		}
+	}
+
+	/**
+	 * @return the request body, or null if it exceeds MAX_REQUEST_SIZE; a body that announces a larger length is not
+	 * read at all, and any other body is read only up to one byte beyond the limit
+	 */
+	private static byte[] readBody(final HttpExchange exchange) throws IOException {
+
+		String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+		if(contentLength != null) {
+			try {
+				if(Long.parseLong(contentLength.trim()) > MAX_REQUEST_SIZE) {
+					return null;
+				}
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Invalid Content-Length: " + contentLength);
+			}
+		}
+
+		try(InputStream in = exchange.getRequestBody()) {
+			byte[] body = in.readNBytes(MAX_REQUEST_SIZE + 1);
+			return body.length > MAX_REQUEST_SIZE ? null : body;
+		}
+	}
+
+	private static void respond(final HttpExchange exchange, final int status, final String contentType, final byte[] body) throws IOException {
+		exchange.getResponseHeaders().set("Content-Type", contentType);
+		exchange.sendResponseHeaders(status, body.length);
+		try(OutputStream out = exchange.getResponseBody()) {
+			out.write(body);
+		}
+	}
+
+	private static long[] decodeBinary(final byte[] body, final boolean compare) throws HandSizeError {
+
+		if(body.length == 0) {
+			throw new IllegalArgumentException("The request body is empty.");
+		}
+
+		int cardsPerHand = body[0];
+		int handsPerEntry = compare ? 2 : 1;
+		if(cardsPerHand < 5 || cardsPerHand > 7) {
+			throw new HandSizeError(cardsPerHand, "5 to 7");
+		}
+		if((body.length - 1) % (cardsPerHand * handsPerEntry) != 0) {
+			throw new IllegalArgumentException("The request body does not hold whole hands of " + cardsPerHand + " cards.");
+		}
+
+		long[] hands = new long[(body.length - 1) / cardsPerHand];
+		for(int hand = 0; hand < hands.length; hand++) {
+			long mask = 0L;
+			for(int i = 1 + hand * cardsPerHand; i < 1 + (hand + 1) * cardsPerHand; i++) {
+				if(body[i] < 0 || body[i] >= PackedCard.DECK_SIZE) {
+					throw new IllegalArgumentException("Not a packed card: " + body[i]);
+				}
+				mask = addCard(mask, body[i]);
+			}
+			hands[hand] = mask;
+		}
+		return hands;
+	}
+
+	private static long[] decodeJson(final byte[] body, final boolean compare) throws HandSizeError {
+
+		Object document = JsonReader.read(new String(body, StandardCharsets.UTF_8));
+		if(!(document instanceof Map)) {
+			throw new IllegalArgumentException("The request body is not a JSON object.");
+		}
+
+		String key = compare ? "matchups" : "hands";
+		Object entries = ((Map<?, ?>)document).get(key);
+		if(!(entries instanceof List)) {
+			throw new IllegalArgumentException("The request body does not hold an array \"" + key + "\".");
+		}
+
+		List<?> list = (List<?>)entries;
+		long[] hands = new long[compare ? list.size() * 2 : list.size()];
+		for(int entry = 0; entry < list.size(); entry++) {
+			if(compare) {
+				List<?> matchup = toList(list.get(entry), "A matchup");
+				if(matchup.size() != 2) {
+					throw new IllegalArgumentException("A matchup must hold two hands.");
+				}
+				hands[entry * 2] = toMask(toList(matchup.get(0), "A hand"));
+				hands[entry * 2 + 1] = toMask(toList(matchup.get(1), "A hand"));
+			} else {
+				hands[entry] = toMask(toList(list.get(entry), "A hand"));
+			}
+		}
+		return hands;
+	}
+
+	/**
+	 * @return the given JSON value as an array; null and other values are rejected, as the handler only answers the
+	 * exceptions of invalid requests
+	 */
+	private static List<?> toList(final Object value, final String name) {
+		if(!(value instanceof List)) {
+			throw new IllegalArgumentException(name + " must be an array, but is " + value + ".");
+		}
+		return (List<?>)value;
+	}
+
+	private static long toMask(final List<?> cards) throws HandSizeError {
+		if(cards.size() < 5 || cards.size() > 7) {
+			throw new HandSizeError(cards.size(), "5 to 7");
+		}
+		long mask = 0L;
+		for(Object card : cards) {
+			if(!(card instanceof String)) {
+				throw new IllegalArgumentException("Not a card: " + card);
+			}
+			mask = addCard(mask, PackedCard.parse((String)card));
+		}
+		return mask;
+	}
+
+	private static long addCard(final long mask, final int packed) {
+		long card = PackedCard.toMask(packed);
+		if((mask & card) != 0L) {
+			throw new IllegalArgumentException("A hand holds the card " + PackedCard.format(packed) + " twice.");
+		}
+		return mask | card;
+	}
+
+	private static byte[] encodeBinary(final int[] strengths, final boolean compare) {
+		if(compare) {
+			byte[] results = new byte[strengths.length / 2];
+			for(int matchup = 0; matchup < results.length; matchup++) {
+				results[matchup] = (byte)Integer.signum(Integer.compare(strengths[matchup * 2], strengths[matchup * 2 + 1]));
+			}
+			return results;
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(strengths.length * Integer.BYTES);
+		buffer.asIntBuffer().put(strengths);
+		return buffer.array();
+	}
+
+	private byte[] encodeJson(final int[] strengths, final boolean compare) {
+
+		StringBuilder json = new StringBuilder();
+		if(compare) {
+			json.append("{\"results\":[");
+			for(int matchup = 0; matchup < strengths.length / 2; matchup++) {
+				json.append(matchup > 0 ? "," : "").append(Integer.signum(Integer.compare(strengths[matchup * 2], strengths[matchup * 2 + 1])));
+			}
+			json.append("]}");
+		} else {
+			json.append("{\"strengths\":[");
+			for(int hand = 0; hand < strengths.length; hand++) {
+				json.append(hand > 0 ? "," : "").append(strengths[hand]);
+			}
+			json.append("],\"ranks\":[");
+			for(int hand = 0; hand < strengths.length; hand++) {
+				json.append(hand > 0 ? "," : "").append('"').append(variant.getRank(strengths[hand]).name()).append('"');
+			}
+			json.append("]}");
+		}
+		return json.toString().getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,214 @@
+package poker.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A minimal JSON reader for the request bodies of the EvaluationServer, so that the library does not need a JSON
+ * dependency. Objects are read into Maps, arrays into Lists, strings into Strings, numbers into Doubles and
+ * literals into Booleans or null. Arrays and objects are read recursively, so their nesting is limited to
+ * MAX_DEPTH levels, which keeps a small malicious body from overflowing the stack.
+ *
+ */
+final class JsonReader {
+
+	/** The deepest nesting of arrays and objects a document may hold */
+	static final int MAX_DEPTH = 32;
+
+	private final String json;
+	private int position;
+	private int depth = 0;
+
+	private JsonReader(final String json) {
+		this.json = json;
+	}
+
+	/************************ Package methods ***********************/
+
+	/**
+	 * @param json A JSON document
+	 * @return the value the document holds
+	 * @throws IllegalArgumentException is thrown when the document is not valid JSON
+	 */
+	static Object read(final String json) {
+		JsonReader reader = new JsonReader(json);
+		Object value = reader.readValue();
+		reader.skipWhitespace();
+		if(reader.position != json.length()) {
+			throw reader.error("Unexpected content after the JSON value");
+		}
+		return value;
+	}
+
+	/************************ Private methods *************************/
+
+	private Object readValue() {
+
+		skipWhitespace();
+		if(position >= json.length()) {
+			throw error("Unexpected end of JSON");
+		}
+
+		char c = json.charAt(position);
+		switch(c) {
+			case '{':
+			case '[':
+				if(++depth > MAX_DEPTH) {
+					throw error("Arrays and objects are nested deeper than " + MAX_DEPTH + " levels");
+				}
+				Object value = c == '{' ? readObject() : readArray();
+				depth--;
+				return value;
+			case '"':
+				return readString();
+			case 't':
+				return readLiteral("true", Boolean.TRUE);
+			case 'f':
+				return readLiteral("false", Boolean.FALSE);
+			case 'n':
+				return readLiteral("null", null);
+			default:
+				return readNumber();
+		}
+	}
+
+	private Map<String, Object> readObject() {
+
+		Map<String, Object> object = new LinkedHashMap<String, Object>();
+		position++;
+		skipWhitespace();
+		if(consume('}')) {
+			return object;
+		}
+
+		do {
+			skipWhitespace();
+			if(position >= json.length() || json.charAt(position) != '"') {
+				throw error("Expected a key");
+			}
+			String key = readString();
+			skipWhitespace();
+			if(!consume(':')) {
+				throw error("Expected ':'");
+			}
+			object.put(key, readValue());
+			skipWhitespace();
+		} while(consume(','));
+
+		if(!consume('}')) {
+			throw error("Expected ',' or '}'");
+		}
+		return object;
+	}
+
+	private List<Object> readArray() {
+
+		List<Object> array = new ArrayList<Object>();
+		position++;
+		skipWhitespace();
+		if(consume(']')) {
+			return array;
+		}
+
+		do {
+			array.add(readValue());
+			skipWhitespace();
+		} while(consume(','));
+
+		if(!consume(']')) {
+			throw error("Expected ',' or ']'");
+		}
+		return array;
+	}
+
+	private String readString() {
+
+		StringBuilder string = new StringBuilder();
+		position++;
+
+		while(position < json.length()) {
+			char c = json.charAt(position++);
+			if(c == '"') {
+				return string.toString();
+			} else if(c == '\\') {
+				if(position >= json.length()) {
+					break;
+				}
+				char escaped = json.charAt(position++);
+				switch(escaped) {
+					case 'b':
+						string.append('\b');
+						break;
+					case 'f':
+						string.append('\f');
+						break;
+					case 'n':
+						string.append('\n');
+						break;
+					case 'r':
+						string.append('\r');
+						break;
+					case 't':
+						string.append('\t');
+						break;
+					case 'u':
+						if(position + 4 > json.length()) {
+							throw error("Incomplete unicode escape");
+						}
+						try {
+							string.append((char)Integer.parseInt(json.substring(position, position + 4), 16));
+						} catch (NumberFormatException e) {
+							throw error("Invalid unicode escape");
+						}
+						position += 4;
+						break;
+					default:
+						string.append(escaped);
+				}
+			} else {
+				string.append(c);
+			}
+		}
+		throw error("Unterminated string");
+	}
+
+	private Object readLiteral(final String literal, final Object value) {
+		if(!json.startsWith(literal, position)) {
+			throw error("Unexpected character");
+		}
+		position += literal.length();
+		return value;
+	}
+
+	private Double readNumber() {
+		int start = position;
+		while(position < json.length() && "+-0123456789.eE".indexOf(json.charAt(position)) >= 0) {
+			position++;
+		}
+		try {
+			return Double.valueOf(json.substring(start, position));
+		} catch (NumberFormatException e) {
+			throw error("Unexpected character");
+		}
+	}
+
+	private boolean consume(final char c) {
+		if(position < json.length() && json.charAt(position) == c) {
+			position++;
+			return true;
+		}
+		return false;
+	}
+
+	private void skipWhitespace() {
+		while(position < json.length() && Character.isWhitespace(json.charAt(position))) {
+			position++;
+		}
+	}
+
+	private IllegalArgumentException error(final String message) {
+		return new IllegalArgumentException(message + " at position " + position + ".");
+	}
+}
@@ -0,0 +1,79 @@
+package poker.sim;
+
+import java.util.SplittableRandom;
+
+import poker.eval.GameVariant;
+import poker.eval.PackedCard;
+
+/**
+ * A deck of packed cards (see PackedCard) for simulations. Cards are dealt by a partial Fisher-Yates shuffle, i. e.
+ * only as many random numbers are drawn as cards are dealt, and neither dealing nor resetting the deck allocates
+ * anything.
+ *
+ */
+public class Deck {
+
+	private final int[] allCards;
+	private final int[] cards;
+	private int size;
+	private int dealt;
+
+	public Deck() {
+		this(GameVariant.STANDARD);
+	}
+
+	/**
+	 * @param variant The variant whose cards the deck holds
+	 */
+	public Deck(final GameVariant variant) {
+		this.allCards = variant.getDeck();
+		this.cards = allCards.clone();
+		this.size = cards.length;
+	}
+
+	/************************ Public methods ***********************/
+
+	/**
+	 * Restores the deck to its initial order, without the given cards, which cannot be dealt until the next reset.
+	 * After a reset, the cards dealt only depend on the random numbers drawn, which makes simulations reproducible.
+	 *
+	 * @param excluded The card mask of the cards that are already known, e. g. hole cards and board cards
+	 */
+	public void reset(final long excluded) {
+		dealt = 0;
+		size = 0;
+		for(int card : allCards) {
+			if((excluded & PackedCard.toMask(card)) == 0L) {
+				cards[size++] = card;
+			}
+		}
+	}
+
+	/**
+	 * Puts all dealt cards back into the deck, keeping the current order of the cards. This is cheaper than a reset,
+	 * and as random as a reset, as the next cards are dealt by a shuffle again.
+	 */
+	public void collect() {
+		dealt = 0;
+	}
+
+	/**
+	 * @param random The random number generator to be used
+	 * @return the packed card dealt from the deck
+	 */
+	public int deal(final SplittableRandom random) {
+		int index = dealt + random.nextInt(size - dealt);
+		int card = cards[index];
+		cards[index] = cards[dealt];
+		cards[dealt] = card;
+		dealt++;
+		return card;
+	}
+
+	/**
+	 * @return the number of cards that can still be dealt
+	 */
+	public int remaining() {
+		return size - dealt;
+	}
+}
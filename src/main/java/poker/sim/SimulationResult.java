@@ -0,0 +1,92 @@
+package poker.sim;
+
+import java.util.Arrays;
+
+/**
+ * The result of an equity simulation run by the SimulationRunner, together with everything needed to reproduce it:
+ * the seed and the layout of the chunks the trials were split into.
+ *
+ */
+public class SimulationResult {
+
+	private final long seed;
+	private final long trials;
+	private final int chunkSize;
+	private final int numberOfChunks;
+	private final long[] wins;
+	private final long[] splits;
+	private final double[] equities;
+
+	SimulationResult(final long seed, final long trials, final int chunkSize, final int numberOfChunks, final long[] wins, final long[] splits, final double[] shares) {
+		this.seed = seed;
+		this.trials = trials;
+		this.chunkSize = chunkSize;
+		this.numberOfChunks = numberOfChunks;
+		this.wins = wins;
+		this.splits = splits;
+		this.equities = new double[shares.length];
+		for(int player = 0; player < shares.length; player++) {
+			equities[player] = shares[player] / trials;
+		}
+	}
+
+	/************************ Public methods ***********************/
+
+	/**
+	 * @return the seed all random number streams of the simulation were derived from
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * @return the number of simulated boards
+	 */
+	public long getTrials() {
+		return trials;
+	}
+
+	/**
+	 * @return the number of trials per chunk, where only the last chunk may hold less trials
+	 */
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	/**
+	 * @return the number of chunks, each of which was simulated with its own random number stream
+	 */
+	public int getNumberOfChunks() {
+		return numberOfChunks;
+	}
+
+	/**
+	 * @param player The index of a player
+	 * @return the number of boards the player won alone
+	 */
+	public long getWins(final int player) {
+		return wins[player];
+	}
+
+	/**
+	 * @param player The index of a player
+	 * @return the number of boards the player split with other players
+	 */
+	public long getSplits(final int player) {
+		return splits[player];
+	}
+
+	/**
+	 * @param player The index of a player
+	 * @return the average share of the pot the player won
+	 */
+	public double getEquity(final int player) {
+		return equities[player];
+	}
+
+	@Override
+	public String toString() {
+		return "SimulationResult [seed=" + seed + ", trials=" + trials + ", chunkSize=" + chunkSize + ", numberOfChunks=" + numberOfChunks
+				+ ", equities=" + Arrays.toString(equities) + "]";
+	}
+}
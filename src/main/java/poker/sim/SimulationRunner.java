@@ -0,0 +1,220 @@
+package poker.sim;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import poker.error.HandSizeError;
+import poker.eval.FastEvaluator;
+import poker.eval.PackedCard;
+
+/**
+ * Simulates the all-in equities of Hold'em hands by dealing random boards, in parallel and reproducibly: the same
+ * seed always gives a bit-identical result, no matter how many threads run the simulation.
+ *
+ * The trials are split into chunks of a fixed size. Each chunk gets its own random number stream, which is split
+ * off a SplittableRandom created from the seed, one chunk after another, before any chunk is simulated. Worker
+ * threads then claim chunks in any order, but each chunk is simulated sequentially with its own stream and a freshly
+ * reset Deck, and the chunk results are merged in chunk order at the end.
+ *
+ */
+public class SimulationRunner {
+
+	/** The default number of trials per chunk */
+	public static final int DEFAULT_CHUNK_SIZE = 1 << 14;
+
+	private final int threads;
+	private final int chunkSize;
+
+	/**
+	 * @param threads The number of threads simulating chunks in parallel
+	 */
+	public SimulationRunner(final int threads) {
+		this(threads, DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * @param threads The number of threads simulating chunks in parallel
+	 * @param chunkSize The number of trials per chunk; results are only reproducible for the same chunk size
+	 * @throws IllegalArgumentException is thrown when threads or chunkSize is not positive
+	 */
+	public SimulationRunner(final int threads, final int chunkSize) {
+		if(threads <= 0) {
+			throw new IllegalArgumentException("The number of threads must be positive: " + threads);
+		}
+		if(chunkSize <= 0) {
+			throw new IllegalArgumentException("The chunk size must be positive: " + chunkSize);
+		}
+		this.threads = threads;
+		this.chunkSize = chunkSize;
+	}
+
+	/************************ Public methods ***********************/
+
+	/**
+	 * Simulates the equities of two or more players, completing the board with random cards in each trial.
+	 *
+	 * @param holes The two packed hole cards of each player
+	 * @param board The packed board cards that are already known: none, three, four or five
+	 * @param trials The number of boards to be simulated
+	 * @param seed The seed all random number streams are derived from
+	 * @return the equities of the players, along with the seed and chunk layout of the simulation
+	 * @throws HandSizeError is thrown when a player does not hold two cards, or the board holds an invalid number of cards
+	 * @throws IllegalArgumentException is thrown when a card is dealt twice, trials is not positive, or the trials
+	 * need more than Integer.MAX_VALUE chunks
+	 * @throws InterruptedException is thrown when the simulation is interrupted
+	 */
+	public SimulationResult simulate(final int[][] holes, final int[] board, final long trials, final long seed) throws HandSizeError, InterruptedException {
+
+		for(int[] hole : holes) {
+			if(hole.length != 2) {
+				throw new HandSizeError(hole.length, "2");
+			}
+		}
+		if(board.length > 5 || board.length == 1 || board.length == 2) {
+			throw new HandSizeError(board.length, "0, 3, 4 or 5");
+		}
+		long dealt = addCards(0L, board);
+		for(int[] hole : holes) {
+			dealt = addCards(dealt, hole);
+		}
+		if(trials <= 0) {
+			throw new IllegalArgumentException("The number of trials must be positive: " + trials);
+		}
+		long chunks = trials / chunkSize + (trials % chunkSize == 0 ? 0 : 1);
+		if(chunks > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException(trials + " trials need more than " + Integer.MAX_VALUE + " chunks of " + chunkSize);
+		}
+
+		int numberOfChunks = (int)chunks;
+		SplittableRandom root = new SplittableRandom(seed);
+		SplittableRandom[] streams = new SplittableRandom[numberOfChunks];
+		for(int chunk = 0; chunk < numberOfChunks; chunk++) {
+			streams[chunk] = root.split();
+		}
+
+		ChunkResult[] results = new ChunkResult[numberOfChunks];
+		AtomicInteger nextChunk = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+		try {
+			List<Future<?>> futures = new ArrayList<Future<?>>();
+			for(int i = 0; i < threads; i++) {
+				futures.add(executor.submit(() -> {
+					FastEvaluator evaluator = new FastEvaluator();
+					Deck deck = new Deck();
+					int chunk;
+					while((chunk = nextChunk.getAndIncrement()) < numberOfChunks) {
+						long chunkTrials = Math.min(chunkSize, trials - (long)chunk * chunkSize);
+						results[chunk] = simulateChunk(evaluator, deck, streams[chunk], holes, board, chunkTrials);
+					}
+				}));
+			}
+			for(Future<?> future : futures) {
+				future.get();
+			}
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+
+		long[] wins = new long[holes.length];
+		long[] splits = new long[holes.length];
+		double[] shares = new double[holes.length];
+		for(ChunkResult result : results) {
+			for(int player = 0; player < holes.length; player++) {
+				wins[player] += result.wins[player];
+				splits[player] += result.splits[player];
+				shares[player] += result.shares[player];
+			}
+		}
+
+		return new SimulationResult(seed, trials, chunkSize, numberOfChunks, wins, splits, shares);
+	}
+
+	/************************ Private methods *************************/
+
+	private static long addCards(final long dealt, final int[] cards) {
+		long mask = dealt;
+		for(int packed : cards) {
+			long card = PackedCard.toMask(packed);
+			if((mask & card) != 0L) {
+				throw new IllegalArgumentException("The card " + PackedCard.format(packed) + " is dealt twice.");
+			}
+			mask |= card;
+		}
+		return mask;
+	}
+
+	private static ChunkResult simulateChunk(final FastEvaluator evaluator, final Deck deck, final SplittableRandom random,
+			final int[][] holes, final int[] board, final long trials) {
+
+		int players = holes.length;
+		long[] holeMasks = new long[players];
+		long knownBoard = PackedCard.toMask(board, 0, board.length);
+		long known = knownBoard;
+		for(int player = 0; player < players; player++) {
+			holeMasks[player] = PackedCard.toMask(holes[player], 0, 2);
+			known |= holeMasks[player];
+		}
+		int missingBoardCards = 5 - board.length;
+
+		ChunkResult result = new ChunkResult(players);
+		int[] strengths = new int[players];
+		deck.reset(known);
+
+		for(long trial = 0; trial < trials; trial++) {
+			long fullBoard = knownBoard;
+			for(int i = 0; i < missingBoardCards; i++) {
+				fullBoard |= PackedCard.toMask(deck.deal(random));
+			}
+			deck.collect();
+
+			int best = -1;
+			int winners = 0;
+			for(int player = 0; player < players; player++) {
+				strengths[player] = evaluator.evaluate(holeMasks[player] | fullBoard);
+				if(strengths[player] > best) {
+					best = strengths[player];
+					winners = 1;
+				} else if(strengths[player] == best) {
+					winners++;
+				}
+			}
+
+			for(int player = 0; player < players; player++) {
+				if(strengths[player] == best) {
+					if(winners == 1) {
+						result.wins[player]++;
+					} else {
+						result.splits[player]++;
+					}
+					result.shares[player] += 1.0 / winners;
+				}
+			}
+		}
+
+		return result;
+	}
+
+	/************************ Private classes *************************/
+
+	private static final class ChunkResult {
+
+		private final long[] wins;
+		private final long[] splits;
+		private final double[] shares;
+
+		private ChunkResult(final int players) {
+			this.wins = new long[players];
+			this.splits = new long[players];
+			this.shares = new double[players];
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package poker.stats;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import poker.eval.GameVariant;
+import poker.eval.StartingHands;
+import poker.store.OffHeapHandStore;
+
+/**
+ * Computes RankStatistics over the Hold'em hands of an OffHeapHandStore. The store's columns are scanned chunk by
+ * chunk: every worker thread claims the next unprocessed chunk, reads the hole cards, strength and outcome columns
+ * of it directly and counts into its own RankStatistics. The per-thread statistics are merged at the end, so the
+ * threads never contend while counting.
+ *
+ */
+public class RankAggregator {
+
+	private final int threads;
+
+	/**
+	 * @param threads The number of threads scanning chunks in parallel
+	 */
+	public RankAggregator(final int threads) {
+		this.threads = threads;
+	}
+
+	/************************ Public methods ***********************/
+
+	/**
+	 * @param store A store of Hold'em hands, whose first two cards are the hole cards; its strengths are read as
+	 * strengths of the store's variant
+	 * @return the statistics of all hands in the store
+	 * @throws InterruptedException is thrown when the aggregation is interrupted
+	 */
+	public RankStatistics aggregate(final OffHeapHandStore store) throws InterruptedException {
+
+		AtomicInteger nextChunk = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+		try {
+			List<Future<RankStatistics>> futures = new ArrayList<Future<RankStatistics>>();
+			for(int i = 0; i < threads; i++) {
+				futures.add(executor.submit(new Callable<RankStatistics>() {
+					@Override
+					public RankStatistics call() {
+						RankStatistics statistics = new RankStatistics();
+						int chunk;
+						while((chunk = nextChunk.getAndIncrement()) < store.getNumberOfChunks()) {
+							aggregateChunk(store, chunk, statistics);
+						}
+						return statistics;
+					}
+				}));
+			}
+
+			RankStatistics total = new RankStatistics();
+			for(Future<RankStatistics> future : futures) {
+				total.merge(future.get());
+			}
+			return total;
+
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/************************ Private methods *************************/
+
+	private void aggregateChunk(final OffHeapHandStore store, final int chunk, final RankStatistics statistics) {
+
+		GameVariant variant = store.getVariant();
+		int cardsPerHand = store.getCardsPerHand();
+		int size = store.getChunkSize(chunk);
+		ByteBuffer cards = store.getCardColumn(chunk);
+		IntBuffer strengths = store.getStrengthColumn(chunk);
+		ByteBuffer outcomes = store.getOutcomeColumn(chunk);
+
+		for(int position = 0; position < size; position++) {
+			int cardPosition = position * cardsPerHand;
+			int startingHand = StartingHands.indexOf(cards.get(cardPosition), cards.get(cardPosition + 1));
+			int rank = variant.getRank(strengths.get(position)).ordinal();
+			statistics.count(startingHand, rank, outcomes.get(position));
+		}
+	}
+}
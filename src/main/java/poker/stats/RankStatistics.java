@@ -0,0 +1,129 @@
+package poker.stats;
+
+import poker.eval.StartingHands;
+import poker.model.Rank;
+import poker.store.ShowdownOutcome;
+
+/**
+ * Histograms of the Ranks and showdown outcomes of a set of Hold'em hands, in total and grouped by starting hand
+ * (see StartingHands). All counts are kept in flat primitive arrays, indexed by Rank and ShowdownOutcome ordinals,
+ * so that counting a hand does not allocate anything.
+ *
+ * RankStatistics objects are not thread-safe. Concurrent aggregations count into one object per thread and merge
+ * these objects afterwards.
+ *
+ */
+public class RankStatistics {
+
+	private static final int NUMBER_OF_RANKS = Rank.values().length;
+	private static final int NUMBER_OF_OUTCOMES = ShowdownOutcome.values().length;
+
+	private long hands = 0L;
+	private final long[] rankCounts = new long[NUMBER_OF_RANKS];
+	private final long[] outcomeCounts = new long[NUMBER_OF_OUTCOMES];
+	private final long[] startingHandRankCounts = new long[StartingHands.NUMBER_OF_STARTING_HANDS * NUMBER_OF_RANKS];
+	private final long[] startingHandOutcomeCounts = new long[StartingHands.NUMBER_OF_STARTING_HANDS * NUMBER_OF_OUTCOMES];
+
+	/************************ Public methods ***********************/
+
+	/**
+	 * Counts a single hand.
+	 *
+	 * @param startingHand The index of the hand's starting hand
+	 * @param rankOrdinal The ordinal of the hand's Rank
+	 * @param outcomeOrdinal The ordinal of the hand's ShowdownOutcome
+	 */
+	public void count(final int startingHand, final int rankOrdinal, final int outcomeOrdinal) {
+		hands++;
+		rankCounts[rankOrdinal]++;
+		outcomeCounts[outcomeOrdinal]++;
+		startingHandRankCounts[startingHand * NUMBER_OF_RANKS + rankOrdinal]++;
+		startingHandOutcomeCounts[startingHand * NUMBER_OF_OUTCOMES + outcomeOrdinal]++;
+	}
+
+	/**
+	 * Adds all counts of another statistics object to this one.
+	 *
+	 * @param other The statistics to be added
+	 */
+	public void merge(final RankStatistics other) {
+		hands += other.hands;
+		add(rankCounts, other.rankCounts);
+		add(outcomeCounts, other.outcomeCounts);
+		add(startingHandRankCounts, other.startingHandRankCounts);
+		add(startingHandOutcomeCounts, other.startingHandOutcomeCounts);
+	}
+
+	/**
+	 * @return the number of counted hands
+	 */
+	public long getHands() {
+		return hands;
+	}
+
+	/**
+	 * @param rank A Rank
+	 * @return the number of counted hands with the given Rank
+	 */
+	public long getCount(final Rank rank) {
+		return rankCounts[rank.ordinal()];
+	}
+
+	/**
+	 * @param outcome A showdown outcome
+	 * @return the number of counted hands with the given outcome
+	 */
+	public long getCount(final ShowdownOutcome outcome) {
+		return outcomeCounts[outcome.ordinal()];
+	}
+
+	/**
+	 * @param startingHand The index of a starting hand
+	 * @param rank A Rank
+	 * @return the number of counted hands of the given starting hand that ended up with the given Rank
+	 */
+	public long getCount(final int startingHand, final Rank rank) {
+		return startingHandRankCounts[startingHand * NUMBER_OF_RANKS + rank.ordinal()];
+	}
+
+	/**
+	 * @param startingHand The index of a starting hand
+	 * @param outcome A showdown outcome
+	 * @return the number of counted hands of the given starting hand with the given outcome
+	 */
+	public long getCount(final int startingHand, final ShowdownOutcome outcome) {
+		return startingHandOutcomeCounts[startingHand * NUMBER_OF_OUTCOMES + outcome.ordinal()];
+	}
+
+	/**
+	 * @param startingHand The index of a starting hand
+	 * @return the number of counted hands of the given starting hand
+	 */
+	public long getHands(final int startingHand) {
+		long count = 0L;
+		for(int outcome = 0; outcome < NUMBER_OF_OUTCOMES; outcome++) {
+			count += startingHandOutcomeCounts[startingHand * NUMBER_OF_OUTCOMES + outcome];
+		}
+		return count;
+	}
+
+	/**
+	 * @param startingHand The index of a starting hand
+	 * @return the share of showdowns won by the given starting hand, counting split pots as half a win, or NaN if
+	 * no showdown with a known outcome was counted for it
+	 */
+	public double getWinRate(final int startingHand) {
+		long won = getCount(startingHand, ShowdownOutcome.WON);
+		long split = getCount(startingHand, ShowdownOutcome.SPLIT);
+		long lost = getCount(startingHand, ShowdownOutcome.LOST);
+		return (won + split / 2.0) / (won + split + lost);
+	}
+
+	/************************ Private methods *************************/
+
+	private static void add(final long[] counts, final long[] otherCounts) {
+		for(int i = 0; i < counts.length; i++) {
+			counts[i] += otherCounts[i];
+		}
+	}
+}
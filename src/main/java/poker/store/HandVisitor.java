@@ -0,0 +1,18 @@
+package poker.store;
+
+/**
+ * A callback for bulk scans over the hands of an OffHeapHandStore.
+ *
+ */
+@FunctionalInterface
+public interface HandVisitor {
+
+	/**
+	 * Called once for every scanned hand, in the order the hands were appended.
+	 *
+	 * @param index The index of the hand within the store
+	 * @param cards The card mask (see PackedCard) of the hand
+	 * @param strength The precomputed strength of the hand (see HandStrength)
+	 */
+	void visit(long index, long cards, int strength);
+}
@@ -0,0 +1,300 @@
+package poker.store;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import poker.eval.FastEvaluator;
+import poker.eval.GameVariant;
+import poker.eval.PackedCard;
+
+/**
+ * Stores very large numbers of hands outside of the Java heap, so that they neither count against the heap size
+ * nor have to be traced by the garbage collector.
+ *
+ * Hands are stored column by column in chunks of direct ByteBuffers: a cards column holding one byte per packed
+ * card, a strength column holding the strength (see HandStrength) that is computed with the store's evaluator
+ * when a hand is appended, and an outcome column holding the ordinal of the hand's ShowdownOutcome. For Hold'em
+ * hands, the first two cards of a hand are expected to be the hole cards. Hands are addressed with long indexes, so
+ * a store is not limited to the size of an array.
+ *
+ * Appending is not thread-safe. Once all hands are appended, any number of threads may read and scan the store.
+ *
+ */
+public class OffHeapHandStore implements AutoCloseable {
+
+	/** The default number of hands per chunk, which makes chunks of a few megabytes */
+	public static final int DEFAULT_HANDS_PER_CHUNK = 1 << 20;
+
+	private static final ShowdownOutcome[] OUTCOMES = ShowdownOutcome.values();
+
+	private final int cardsPerHand;
+	private final int handsPerChunk;
+	private final FastEvaluator evaluator;
+	private final List<ByteBuffer> cardColumns = new ArrayList<ByteBuffer>();
+	private final List<IntBuffer> strengthColumns = new ArrayList<IntBuffer>();
+	private final List<ByteBuffer> outcomeColumns = new ArrayList<ByteBuffer>();
+	private long size = 0L;
+
+	/**
+	 * @param cardsPerHand The number of cards of every hand, five to seven
+	 */
+	public OffHeapHandStore(final int cardsPerHand) {
+		this(cardsPerHand, DEFAULT_HANDS_PER_CHUNK, new FastEvaluator());
+	}
+
+	/**
+	 * @param cardsPerHand The number of cards of every hand, five to seven
+	 * @param handsPerChunk The number of hands stored in every chunk of off-heap memory
+	 * @param evaluator The engine used for computing the strength column
+	 * @throws IllegalArgumentException is thrown when cardsPerHand is not five to seven, or when handsPerChunk is not
+	 * positive or too large for the strength column of a chunk to fit into a ByteBuffer
+	 */
+	public OffHeapHandStore(final int cardsPerHand, final int handsPerChunk, final FastEvaluator evaluator) {
+		if(cardsPerHand < 5 || cardsPerHand > 7) {
+			throw new IllegalArgumentException("A hand must hold five to seven cards, not " + cardsPerHand);
+		}
+		// the strength column takes the most bytes per hand
+		if(handsPerChunk <= 0 || handsPerChunk > Integer.MAX_VALUE / Integer.BYTES) {
+			throw new IllegalArgumentException("Not a number of hands per chunk: " + handsPerChunk);
+		}
+		this.cardsPerHand = cardsPerHand;
+		this.handsPerChunk = handsPerChunk;
+		this.evaluator = evaluator;
+	}
+
+	/************************ Public methods ***********************/
+
+	/**
+	 * Appends a hand with an unknown outcome to the store and computes its strength.
+	 *
+	 * @param cards An array holding the packed cards of the hand
+	 * @param offset The index of the hand's first card within the array
+	 * @return the index of the appended hand
+	 */
+	public long append(final int[] cards, final int offset) {
+		return append(cards, offset, ShowdownOutcome.UNKNOWN);
+	}
+
+	/**
+	 * Appends a hand to the store and computes its strength.
+	 *
+	 * @param cards An array holding the packed cards of the hand
+	 * @param offset The index of the hand's first card within the array
+	 * @param outcome The outcome of the hand at the showdown
+	 * @return the index of the appended hand
+	 */
+	public long append(final int[] cards, final int offset, final ShowdownOutcome outcome) {
+
+		int chunk = (int)(size / handsPerChunk);
+		int position = (int)(size % handsPerChunk);
+
+		if(chunk == cardColumns.size()) {
+			cardColumns.add(ByteBuffer.allocateDirect(handsPerChunk * cardsPerHand));
+			strengthColumns.add(ByteBuffer.allocateDirect(handsPerChunk * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer());
+			outcomeColumns.add(ByteBuffer.allocateDirect(handsPerChunk));
+		}
+
+		ByteBuffer cardColumn = cardColumns.get(chunk);
+		int cardPosition = position * cardsPerHand;
+		for(int i = 0; i < cardsPerHand; i++) {
+			cardColumn.put(cardPosition + i, (byte)cards[offset + i]);
+		}
+		strengthColumns.get(chunk).put(position, evaluator.evaluate(cards, offset, cardsPerHand));
+		outcomeColumns.get(chunk).put(position, (byte)outcome.ordinal());
+
+		return size++;
+	}
+
+	/**
+	 * Appends several hands, stored one after another in an array, to the store.
+	 *
+	 * @param cards An array holding the packed cards of all hands
+	 * @param offset The index of the first hand's first card within the array
+	 * @param numberOfHands The number of hands to be appended
+	 */
+	public void appendAll(final int[] cards, final int offset, final int numberOfHands) {
+		for(int hand = 0; hand < numberOfHands; hand++) {
+			append(cards, offset + hand * cardsPerHand);
+		}
+	}
+
+	/**
+	 * @return the number of hands in the store
+	 */
+	public long size() {
+		return size;
+	}
+
+	/**
+	 * @return the number of cards of every hand
+	 */
+	public int getCardsPerHand() {
+		return cardsPerHand;
+	}
+
+	/**
+	 * @return the variant of the evaluator that computed the strength column
+	 */
+	public GameVariant getVariant() {
+		return evaluator.getVariant();
+	}
+
+	/**
+	 * Copies the packed cards of a hand into an array.
+	 *
+	 * @param index The index of the hand
+	 * @param target The array the packed cards are copied into
+	 * @param offset The index within the array the first card is copied to
+	 * @throws IndexOutOfBoundsException is thrown when the store holds no hand with the given index
+	 */
+	public void getCards(final long index, final int[] target, final int offset) {
+		checkIndex(index);
+		ByteBuffer cardColumn = cardColumns.get(chunkOf(index));
+		int cardPosition = positionOf(index) * cardsPerHand;
+		for(int i = 0; i < cardsPerHand; i++) {
+			target[offset + i] = cardColumn.get(cardPosition + i);
+		}
+	}
+
+	/**
+	 * @param index The index of a hand
+	 * @return the card mask (see PackedCard) of the hand
+	 * @throws IndexOutOfBoundsException is thrown when the store holds no hand with the given index
+	 */
+	public long getCardMask(final long index) {
+		checkIndex(index);
+		return cardMask(cardColumns.get(chunkOf(index)), positionOf(index) * cardsPerHand);
+	}
+
+	/**
+	 * @param index The index of a hand
+	 * @return the precomputed strength of the hand
+	 * @throws IndexOutOfBoundsException is thrown when the store holds no hand with the given index
+	 */
+	public int getStrength(final long index) {
+		checkIndex(index);
+		return strengthColumns.get(chunkOf(index)).get(positionOf(index));
+	}
+
+	/**
+	 * @param index The index of a hand
+	 * @return the outcome of the hand at the showdown
+	 * @throws IndexOutOfBoundsException is thrown when the store holds no hand with the given index
+	 */
+	public ShowdownOutcome getOutcome(final long index) {
+		checkIndex(index);
+		return OUTCOMES[outcomeColumns.get(chunkOf(index)).get(positionOf(index))];
+	}
+
+	/**
+	 * Visits all hands of the store in the order they were appended.
+	 *
+	 * @param visitor The callback that is called for every hand
+	 */
+	public void scan(final HandVisitor visitor) {
+		scan(0L, size, visitor);
+	}
+
+	/**
+	 * Visits a range of hands in the order they were appended.
+	 *
+	 * @param from The index of the first hand to be visited
+	 * @param to The index after the last hand to be visited
+	 * @param visitor The callback that is called for every hand
+	 * @throws IndexOutOfBoundsException is thrown when the range is not within the hands of the store
+	 */
+	public void scan(final long from, final long to, final HandVisitor visitor) {
+		if(from < 0 || from > to || to > size) {
+			throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for size " + size);
+		}
+		long index = from;
+		while(index < to) {
+			int chunk = chunkOf(index);
+			ByteBuffer cardColumn = cardColumns.get(chunk);
+			IntBuffer strengthColumn = strengthColumns.get(chunk);
+			int last = (int)Math.min(handsPerChunk, to - (long)chunk * handsPerChunk);
+
+			for(int position = positionOf(index); position < last; position++) {
+				visitor.visit(index++, cardMask(cardColumn, position * cardsPerHand), strengthColumn.get(position));
+			}
+		}
+	}
+
+	/**
+	 * @return the number of chunks the hands are stored in
+	 */
+	public int getNumberOfChunks() {
+		return cardColumns.size();
+	}
+
+	/**
+	 * @param chunk The index of a chunk
+	 * @return the number of hands stored in the given chunk
+	 */
+	public int getChunkSize(final int chunk) {
+		return (int)Math.min(handsPerChunk, size - (long)chunk * handsPerChunk);
+	}
+
+	/**
+	 * @param chunk The index of a chunk
+	 * @return a read-only view of the chunk's cards column, holding getCardsPerHand() packed cards per hand
+	 */
+	public ByteBuffer getCardColumn(final int chunk) {
+		return cardColumns.get(chunk).asReadOnlyBuffer();
+	}
+
+	/**
+	 * @param chunk The index of a chunk
+	 * @return a read-only view of the chunk's strength column
+	 */
+	public IntBuffer getStrengthColumn(final int chunk) {
+		return strengthColumns.get(chunk).asReadOnlyBuffer();
+	}
+
+	/**
+	 * @param chunk The index of a chunk
+	 * @return a read-only view of the chunk's outcome column, holding one ShowdownOutcome ordinal per hand
+	 */
+	public ByteBuffer getOutcomeColumn(final int chunk) {
+		return outcomeColumns.get(chunk).asReadOnlyBuffer();
+	}
+
+	/**
+	 * Releases the references to the off-heap memory of this store, which is freed once the garbage collector
+	 * collects the buffers.
+	 */
+	@Override
+	public void close() {
+		cardColumns.clear();
+		strengthColumns.clear();
+		outcomeColumns.clear();
+		size = 0L;
+	}
+
+	/************************ Private methods *************************/
+
+	private void checkIndex(final long index) {
+		if(index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+		}
+	}
+
+	private int chunkOf(final long index) {
+		return (int)(index / handsPerChunk);
+	}
+
+	private int positionOf(final long index) {
+		return (int)(index % handsPerChunk);
+	}
+
+	private long cardMask(final ByteBuffer cardColumn, final int cardPosition) {
+		long mask = 0L;
+		for(int i = 0; i < cardsPerHand; i++) {
+			mask |= PackedCard.toMask(cardColumn.get(cardPosition + i));
+		}
+		return mask;
+	}
+}
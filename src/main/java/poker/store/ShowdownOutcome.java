@@ -0,0 +1,12 @@
+package poker.store;
+
+/**
+ * The outcome of a stored hand at the showdown, as seen from the player holding the hand.
+ *
+ */
+public enum ShowdownOutcome {
+	UNKNOWN,
+	LOST,
+	SPLIT,
+	WON
+}
@@ -0,0 +1,593 @@
+package poker.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import poker.eval.BatchEvaluator;
+import poker.eval.FastEvaluator;
+import poker.eval.GameVariant;
+import poker.eval.PackedCard;
+import poker.game.Ranker;
+import poker.model.Card;
+import poker.model.CardHand;
+import poker.model.Rank;
+
+/**
+ * Checks every available evaluation engine against the reference semantics of CardHand and Ranker:
+ *
+ * <ul>
+ * <li>the Rank of all 2,598,960 five card hands,</li>
+ * <li>the order of randomly sampled matchups of two five card hands, wherever Ranker defines a precedence (Ranker
+ * only looks at the first kickers, so the engines may break its draws, but must never contradict a winner),</li>
+ * <li>the Rank of randomly sampled seven card hands, which is the best Rank of their 21 five card hands.</li>
+ * </ul>
+ *
+ * In addition, all engines must compute exactly the same strengths. The engines are the single, packed card and
+ * batch methods of FastEvaluator and, if it is available in the running JVM, the vectorised batch evaluator (see
+ * BatchEvaluator.createVectorEvaluator()), whether or not it is enabled.
+ *
+ * Checks are split into chunks that run in parallel, like the SimulationRunner does, so the results are
+ * reproducible for a seed: the reported divergence is always the first one in enumeration or sampling order, no
+ * matter how many threads run the check. Before it is reported, a diverging hand is reduced to the fewest cards that
+ * still diverge.
+ *
+ */
+public class DifferentialChecker {
+
+	/** The number of five card hands in a deck of 52 cards */
+	public static final int FIVE_CARD_HANDS = 2_598_960;
+
+	/** The default number of sampled hands or matchups per chunk */
+	public static final int DEFAULT_CHUNK_SIZE = 1 << 14;
+
+	private static final GameVariant VARIANT = GameVariant.STANDARD;
+	private static final Card[] CARDS = new Card[PackedCard.DECK_SIZE];
+
+	static {
+		for(int card = 0; card < CARDS.length; card++) {
+			CARDS[card] = PackedCard.unpack(card);
+		}
+	}
+
+	private final int threads;
+	private final int chunkSize;
+	private final Supplier<Map<String, BatchEvaluator>> engineFactory;
+
+	/**
+	 * @param threads The number of threads checking chunks in parallel
+	 */
+	public DifferentialChecker(final int threads) {
+		this(threads, DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * @param threads The number of threads checking chunks in parallel
+	 * @param chunkSize The number of sampled hands or matchups per chunk; samples are only reproducible for the same
+	 * chunk size
+	 */
+	public DifferentialChecker(final int threads, final int chunkSize) {
+		this(threads, chunkSize, DifferentialChecker::createEngines);
+	}
+
+	/**
+	 * @param engineFactory Creates the engines to be checked for each thread, by name
+	 */
+	DifferentialChecker(final int threads, final int chunkSize, final Supplier<Map<String, BatchEvaluator>> engineFactory) {
+		this.threads = threads;
+		this.chunkSize = chunkSize;
+		this.engineFactory = engineFactory;
+	}
+
+	/************************ Public methods ***********************/
+
+	/**
+	 * Runs all checks and prints the first divergence of each, or checks the given cards alone:
+	 *
+	 * <pre>
+	 * DifferentialChecker [matchups] [seven card hands] [seed] [threads]
+	 * DifferentialChecker --check "As Ks Qs Js Ts" ["2c 3c 4c 5c 7d"]
+	 * </pre>
+	 *
+	 * Exits with status 1 if any engine diverges.
+	 *
+	 * @param args The arguments described above
+	 * @throws InterruptedException is thrown when a check is interrupted
+	 */
+	public static void main(final String[] args) throws InterruptedException {
+
+		if(args.length > 0 && "--check".equals(args[0])) {
+			int[][] hands = new int[args.length - 1][];
+			for(int hand = 0; hand < hands.length; hand++) {
+				hands[hand] = parseHand(args[hand + 1]);
+			}
+			printStrengths(hands);
+			Divergence divergence = new DifferentialChecker(1).check(hands);
+			System.out.println(divergence == null ? "No divergence" : divergence);
+			System.exit(divergence == null ? 0 : 1);
+		}
+
+		long matchups = args.length > 0 ? Long.parseLong(args[0]) : 2_000_000L;
+		long sevenCardHands = args.length > 1 ? Long.parseLong(args[1]) : 2_000_000L;
+		long seed = args.length > 2 ? Long.parseLong(args[2]) : 41L;
+		int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+		DifferentialChecker checker = new DifferentialChecker(threads);
+		System.out.println("Engines: " + createEngines().keySet());
+
+		long start = System.nanoTime();
+		Divergence fiveCards = checker.checkAllFiveCardHands();
+		report(FIVE_CARD_HANDS + " five card hands", fiveCards, start);
+
+		start = System.nanoTime();
+		Divergence matchupOrder = checker.checkMatchups(matchups, seed);
+		report(matchups + " matchups", matchupOrder, start);
+
+		start = System.nanoTime();
+		Divergence sevenCards = checker.checkSevenCardHands(sevenCardHands, seed);
+		report(sevenCardHands + " seven card hands", sevenCards, start);
+
+		System.exit(fiveCards == null && matchupOrder == null && sevenCards == null ? 0 : 1);
+	}
+
+	/**
+	 * Checks the Rank and strength of all five card hands with every engine.
+	 *
+	 * @return the first divergence in the order of the packed cards, or null if all engines agree on all hands
+	 * @throws InterruptedException is thrown when the check is interrupted
+	 */
+	public Divergence checkAllFiveCardHands() throws InterruptedException {
+		// one chunk per lowest card of the hands
+		return runChunks(PackedCard.DECK_SIZE - 4, (engines, firstCard) -> checkFiveCardChunk(engines, firstCard));
+	}
+
+	/**
+	 * Checks randomly sampled matchups of two five card hands with every engine.
+	 *
+	 * @param matchups The number of matchups to be sampled
+	 * @param seed The seed all random number streams are derived from
+	 * @return the first divergence in sampling order, or null if all engines agree on all matchups
+	 * @throws InterruptedException is thrown when the check is interrupted
+	 */
+	public Divergence checkMatchups(final long matchups, final long seed) throws InterruptedException {
+		SplittableRandom[] streams = splitStreams(matchups, seed);
+		return runChunks(streams.length, (engines, chunk) -> checkMatchupChunk(engines, streams[chunk], chunkLength(matchups, chunk)));
+	}
+
+	/**
+	 * Checks the Rank and strength of randomly sampled seven card hands with every engine.
+	 *
+	 * @param hands The number of hands to be sampled
+	 * @param seed The seed all random number streams are derived from
+	 * @return the first divergence in sampling order, or null if all engines agree on all hands
+	 * @throws InterruptedException is thrown when the check is interrupted
+	 */
+	public Divergence checkSevenCardHands(final long hands, final long seed) throws InterruptedException {
+		SplittableRandom[] streams = splitStreams(hands, seed);
+		return runChunks(streams.length, (engines, chunk) -> checkSevenCardChunk(engines, streams[chunk], chunkLength(hands, chunk)));
+	}
+
+	/**
+	 * Checks a single hand of five to seven cards, or a matchup of two five card hands, with every engine.
+	 *
+	 * @param hands The packed cards of one or two hands
+	 * @return the divergence, or null if all engines agree with the reference
+	 * @throws IllegalArgumentException is thrown when the hands are neither a hand of five to seven different cards
+	 * nor two five card hands without a common card
+	 */
+	public Divergence check(final int[]... hands) {
+
+		long used = 0L;
+		for(int[] hand : hands) {
+			for(int card : hand) {
+				if((used & PackedCard.toMask(card)) != 0L) {
+					throw new IllegalArgumentException("The card " + PackedCard.format(card) + " is given twice");
+				}
+				used |= PackedCard.toMask(card);
+			}
+		}
+
+		Map<String, BatchEvaluator> engines = engineFactory.get();
+		if(hands.length == 1 && hands[0].length >= 5 && hands[0].length <= 7) {
+			return checkHand(engines, hands[0]);
+		} else if(hands.length == 2 && hands[0].length == 5 && hands[1].length == 5) {
+			return checkMatchup(engines, new Ranker(), hands[0], hands[1]);
+		}
+		throw new IllegalArgumentException("Expected a hand of five to seven cards or two hands of five cards");
+	}
+
+	/************************ Package methods ***********************/
+
+	/**
+	 * @return new instances of all engines available in the running JVM, by name; the first engine is the baseline
+	 * all others must agree with
+	 */
+	static Map<String, BatchEvaluator> createEngines() {
+		Map<String, BatchEvaluator> engines = new LinkedHashMap<String, BatchEvaluator>();
+		FastEvaluator evaluator = new FastEvaluator(VARIANT);
+		engines.put("FastEvaluator.evaluate(long)", new SingleMaskEngine(evaluator));
+		engines.put("FastEvaluator.evaluate(int[])", new PackedCardEngine(evaluator));
+		engines.put("FastEvaluator.evaluateAll(long[])", evaluator);
+		BatchEvaluator vectorEvaluator = BatchEvaluator.createVectorEvaluator(VARIANT);
+		if(null != vectorEvaluator) {
+			engines.put(vectorEvaluator.getClass().getSimpleName(), vectorEvaluator);
+		}
+		return engines;
+	}
+
+	/************************ Private methods *************************/
+
+	private Divergence runChunks(final int numberOfChunks, final ChunkCheck check) throws InterruptedException {
+
+		Divergence[] divergences = new Divergence[numberOfChunks];
+		AtomicInteger nextChunk = new AtomicInteger();
+		AtomicInteger firstDivergingChunk = new AtomicInteger(numberOfChunks);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+		try {
+			List<Future<?>> futures = new ArrayList<Future<?>>();
+			for(int i = 0; i < threads; i++) {
+				futures.add(executor.submit(() -> {
+					Map<String, BatchEvaluator> engines = engineFactory.get();
+					int chunk;
+					// chunks are claimed in order, so no chunk after a diverging one can hold the first divergence
+					while((chunk = nextChunk.getAndIncrement()) < firstDivergingChunk.get()) {
+						divergences[chunk] = check.check(engines, chunk);
+						if(divergences[chunk] != null) {
+							firstDivergingChunk.accumulateAndGet(chunk, Math::min);
+						}
+					}
+				}));
+			}
+			for(Future<?> future : futures) {
+				future.get();
+			}
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+
+		for(Divergence divergence : divergences) {
+			if(divergence != null) {
+				return divergence;
+			}
+		}
+		return null;
+	}
+
+	private SplittableRandom[] splitStreams(final long samples, final long seed) {
+		int numberOfChunks = (int)((samples + chunkSize - 1) / chunkSize);
+		SplittableRandom root = new SplittableRandom(seed);
+		SplittableRandom[] streams = new SplittableRandom[numberOfChunks];
+		for(int chunk = 0; chunk < numberOfChunks; chunk++) {
+			streams[chunk] = root.split();
+		}
+		return streams;
+	}
+
+	private int chunkLength(final long samples, final int chunk) {
+		return (int)Math.min(chunkSize, samples - (long)chunk * chunkSize);
+	}
+
+	private static Divergence checkFiveCardChunk(final Map<String, BatchEvaluator> engines, final int firstCard) {
+
+		int remaining = PackedCard.DECK_SIZE - firstCard - 1;
+		int hands = remaining * (remaining - 1) * (remaining - 2) * (remaining - 3) / 24;
+		int[] cards = new int[hands * 5];
+		int hand = 0;
+		for(int second = firstCard + 1; second < PackedCard.DECK_SIZE; second++) {
+			for(int third = second + 1; third < PackedCard.DECK_SIZE; third++) {
+				for(int fourth = third + 1; fourth < PackedCard.DECK_SIZE; fourth++) {
+					for(int fifth = fourth + 1; fifth < PackedCard.DECK_SIZE; fifth++) {
+						cards[hand * 5] = firstCard;
+						cards[hand * 5 + 1] = second;
+						cards[hand * 5 + 2] = third;
+						cards[hand * 5 + 3] = fourth;
+						cards[hand * 5 + 4] = fifth;
+						hand++;
+					}
+				}
+			}
+		}
+		return checkBatch(engines, cards, 5, hands, null);
+	}
+
+	private static Divergence checkMatchupChunk(final Map<String, BatchEvaluator> engines, final SplittableRandom random, final int matchups) {
+
+		// the two hands of a matchup are dealt from the same deck and stored one after the other
+		int[] cards = new int[matchups * 10];
+		for(int matchup = 0; matchup < matchups; matchup++) {
+			deal(random, cards, matchup * 10, 10);
+		}
+		int[] strengths = new int[matchups * 2];
+		Divergence divergence = checkBatch(engines, cards, 5, matchups * 2, strengths);
+		if(divergence != null) {
+			return divergence;
+		}
+
+		Ranker ranker = new Ranker();
+		for(int matchup = 0; matchup < matchups; matchup++) {
+			int expected = ranker.compareHands(toCardHand(cards, matchup * 10), toCardHand(cards, matchup * 10 + 5));
+			int actual = strengths[matchup * 2] - strengths[matchup * 2 + 1];
+			if(expected != 0 && Integer.signum(expected) != Integer.signum(actual)) {
+				return checkMatchup(engines, ranker, Arrays.copyOfRange(cards, matchup * 10, matchup * 10 + 5),
+						Arrays.copyOfRange(cards, matchup * 10 + 5, matchup * 10 + 10));
+			}
+		}
+		return null;
+	}
+
+	private static Divergence checkSevenCardChunk(final Map<String, BatchEvaluator> engines, final SplittableRandom random, final int hands) {
+		int[] cards = new int[hands * 7];
+		for(int hand = 0; hand < hands; hand++) {
+			deal(random, cards, hand * 7, 7);
+		}
+		return checkBatch(engines, cards, 7, hands, null);
+	}
+
+	/**
+	 * Evaluates a batch of hands with every engine and checks each hand's Rank and strength.
+	 *
+	 * @param strengths An array the strengths of the baseline engine are written to, or null
+	 */
+	private static Divergence checkBatch(final Map<String, BatchEvaluator> engines, final int[] cards, final int cardsPerHand,
+			final int hands, final int[] strengths) {
+
+		long[] masks = new long[hands];
+		for(int hand = 0; hand < hands; hand++) {
+			masks[hand] = PackedCard.toMask(cards, hand * cardsPerHand, cardsPerHand);
+		}
+
+		int[][] engineStrengths = new int[engines.size()][hands];
+		int engine = 0;
+		for(BatchEvaluator evaluator : engines.values()) {
+			evaluator.evaluateAll(masks, engineStrengths[engine++], hands);
+		}
+		if(strengths != null) {
+			System.arraycopy(engineStrengths[0], 0, strengths, 0, hands);
+		}
+
+		Card[] scratch = new Card[5];
+		for(int hand = 0; hand < hands; hand++) {
+			Rank expected = referenceRank(cards, hand * cardsPerHand, cardsPerHand, scratch);
+			for(engine = 0; engine < engineStrengths.length; engine++) {
+				int strength = engineStrengths[engine][hand];
+				if(VARIANT.getRank(strength) != expected || strength != engineStrengths[0][hand]) {
+					int[] handCards = Arrays.copyOfRange(cards, hand * cardsPerHand, (hand + 1) * cardsPerHand);
+					Divergence divergence = checkHand(engines, handCards);
+					if(divergence != null) {
+						return divergence;
+					}
+					// the engine diverges only in the context of this batch, e. g. at the end of a vector
+					String name = new ArrayList<String>(engines.keySet()).get(engine);
+					return new Divergence(VARIANT.getRank(strength) != expected ? "rank" : "strength", name, new int[][] { handCards },
+							expected + " / " + Integer.toHexString(engineStrengths[0][hand]),
+							VARIANT.getRank(strength) + " / " + Integer.toHexString(strength) + " at index " + hand + " of a batch of " + hands);
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Checks a single hand and reduces diverging hands of six or seven cards to the fewest cards that still diverge.
+	 */
+	private static Divergence checkHand(final Map<String, BatchEvaluator> engines, final int[] cards) {
+
+		Divergence divergence = checkSingleHand(engines, cards);
+		int[] hand = cards;
+		boolean reduced = divergence != null;
+		while(reduced && hand.length > 5) {
+			reduced = false;
+			for(int skipped = 0; skipped < hand.length && !reduced; skipped++) {
+				int[] smaller = new int[hand.length - 1];
+				System.arraycopy(hand, 0, smaller, 0, skipped);
+				System.arraycopy(hand, skipped + 1, smaller, skipped, smaller.length - skipped);
+				Divergence smallerDivergence = checkSingleHand(engines, smaller);
+				if(smallerDivergence != null) {
+					hand = smaller;
+					divergence = smallerDivergence;
+					reduced = true;
+				}
+			}
+		}
+		return divergence;
+	}
+
+	private static Divergence checkSingleHand(final Map<String, BatchEvaluator> engines, final int[] cards) {
+
+		Rank expected = referenceRank(cards, 0, cards.length, new Card[5]);
+		long[] mask = { PackedCard.toMask(cards, 0, cards.length) };
+		int[] strength = new int[1];
+		int baseline = 0;
+		boolean first = true;
+
+		for(Map.Entry<String, BatchEvaluator> engine : engines.entrySet()) {
+			engine.getValue().evaluateAll(mask, strength, 1);
+			if(first) {
+				baseline = strength[0];
+				first = false;
+			}
+			if(VARIANT.getRank(strength[0]) != expected) {
+				return new Divergence("rank", engine.getKey(), new int[][] { cards }, expected.toString(), VARIANT.getRank(strength[0]).toString());
+			}
+			if(strength[0] != baseline) {
+				return new Divergence("strength", engine.getKey(), new int[][] { cards }, Integer.toHexString(baseline), Integer.toHexString(strength[0]));
+			}
+		}
+		return null;
+	}
+
+	private static Divergence checkMatchup(final Map<String, BatchEvaluator> engines, final Ranker ranker, final int[] hand1, final int[] hand2) {
+
+		Divergence divergence = checkSingleHand(engines, hand1);
+		if(divergence == null) {
+			divergence = checkSingleHand(engines, hand2);
+		}
+		if(divergence != null) {
+			return divergence;
+		}
+
+		int expected = ranker.compareHands(toCardHand(hand1, 0), toCardHand(hand2, 0));
+		if(expected == 0) {
+			// Ranker defines no precedence, so any order is fine
+			return null;
+		}
+		long[] masks = { PackedCard.toMask(hand1, 0, 5), PackedCard.toMask(hand2, 0, 5) };
+		int[] strengths = new int[2];
+		for(Map.Entry<String, BatchEvaluator> engine : engines.entrySet()) {
+			engine.getValue().evaluateAll(masks, strengths, 2);
+			int actual = strengths[0] - strengths[1];
+			if(Integer.signum(expected) != Integer.signum(actual)) {
+				return new Divergence("order", engine.getKey(), new int[][] { hand1, hand2 }, describeOrder(expected), describeOrder(actual));
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return the best Rank of all five card hands out of the given cards
+	 */
+	private static Rank referenceRank(final int[] cards, final int offset, final int length, final Card[] scratch) {
+		Rank best = null;
+		for(int subset = 0; subset < 1 << length; subset++) {
+			if(Integer.bitCount(subset) != 5) {
+				continue;
+			}
+			int card = 0;
+			for(int i = 0; i < length; i++) {
+				if((subset & 1 << i) != 0) {
+					scratch[card++] = CARDS[cards[offset + i]];
+				}
+			}
+			Rank rank = new CardHand(scratch[0], scratch[1], scratch[2], scratch[3], scratch[4]).getRank();
+			if(best == null || rank.compareTo(best) > 0) {
+				best = rank;
+			}
+		}
+		return best;
+	}
+
+	private static CardHand toCardHand(final int[] cards, final int offset) {
+		return new CardHand(CARDS[cards[offset]], CARDS[cards[offset + 1]], CARDS[cards[offset + 2]], CARDS[cards[offset + 3]], CARDS[cards[offset + 4]]);
+	}
+
+	/**
+	 * Deals different random cards into a range of an array.
+	 */
+	private static void deal(final SplittableRandom random, final int[] cards, final int offset, final int length) {
+		long used = 0L;
+		for(int i = offset; i < offset + length; i++) {
+			int card;
+			do {
+				card = random.nextInt(PackedCard.DECK_SIZE);
+			} while((used & PackedCard.toMask(card)) != 0L);
+			used |= PackedCard.toMask(card);
+			cards[i] = card;
+		}
+	}
+
+	private static String describeOrder(final int comparison) {
+		return comparison > 0 ? "hand 1 wins" : comparison < 0 ? "hand 2 wins" : "split pot";
+	}
+
+	private static int[] parseHand(final String notation) {
+		String[] symbols = notation.trim().split("\\s+");
+		int[] cards = new int[symbols.length];
+		for(int i = 0; i < symbols.length; i++) {
+			cards[i] = PackedCard.parse(symbols[i]);
+		}
+		return cards;
+	}
+
+	private static void printStrengths(final int[][] hands) {
+		for(Map.Entry<String, BatchEvaluator> engine : createEngines().entrySet()) {
+			long[] masks = new long[hands.length];
+			for(int hand = 0; hand < hands.length; hand++) {
+				masks[hand] = PackedCard.toMask(hands[hand], 0, hands[hand].length);
+			}
+			int[] strengths = new int[hands.length];
+			engine.getValue().evaluateAll(masks, strengths, hands.length);
+			for(int strength : strengths) {
+				System.out.printf("%-36s %-16s %08x%n", engine.getKey(), VARIANT.getRank(strength), strength);
+			}
+		}
+	}
+
+	private static void report(final String checked, final Divergence divergence, final long start) {
+		System.out.printf("%s checked in %.1f s: %s%n", checked, (System.nanoTime() - start) / 1e9,
+				divergence == null ? "no divergence" : "\n" + divergence);
+	}
+
+	/************************ Private classes *************************/
+
+	@FunctionalInterface
+	private interface ChunkCheck {
+		Divergence check(Map<String, BatchEvaluator> engines, int chunk);
+	}
+
+	/**
+	 * Evaluates each card mask with FastEvaluator.evaluate(long).
+	 */
+	private static final class SingleMaskEngine implements BatchEvaluator {
+
+		private final FastEvaluator evaluator;
+
+		private SingleMaskEngine(final FastEvaluator evaluator) {
+			this.evaluator = evaluator;
+		}
+
+		@Override
+		public void evaluateAll(final long[] cards, final int[] strengths, final int hands) {
+			for(int hand = 0; hand < hands; hand++) {
+				strengths[hand] = evaluator.evaluate(cards[hand]);
+			}
+		}
+
+		@Override
+		public GameVariant getVariant() {
+			return evaluator.getVariant();
+		}
+	}
+
+	/**
+	 * Converts each card mask back to packed cards and evaluates them with FastEvaluator.evaluate(int[], int, int).
+	 */
+	private static final class PackedCardEngine implements BatchEvaluator {
+
+		private final FastEvaluator evaluator;
+		private final int[] packed = new int[7];
+
+		private PackedCardEngine(final FastEvaluator evaluator) {
+			this.evaluator = evaluator;
+		}
+
+		@Override
+		public void evaluateAll(final long[] cards, final int[] strengths, final int hands) {
+			for(int hand = 0; hand < hands; hand++) {
+				int length = 0;
+				for(long mask = cards[hand]; mask != 0L; mask &= mask - 1) {
+					int bit = Long.numberOfTrailingZeros(mask);
+					// a mask holds one 16 bit lane per suit, a packed card is value * 4 + suit
+					packed[length++] = (bit & 15) * 4 + (bit >>> 4);
+				}
+				strengths[hand] = evaluator.evaluate(packed, 0, length);
+			}
+		}
+
+		@Override
+		public GameVariant getVariant() {
+			return evaluator.getVariant();
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package poker.verify;
+
+import java.util.Arrays;
+
+import poker.eval.PackedCard;
+
+/**
+ * A disagreement between an evaluation engine and the reference semantics of CardHand and Ranker, or between two
+ * engines, as found by the DifferentialChecker. The cards are already reduced as far as the disagreement persists.
+ *
+ */
+public final class Divergence {
+
+	private final String check;
+	private final String engine;
+	private final int[][] hands;
+	private final String expected;
+	private final String actual;
+
+	Divergence(final String check, final String engine, final int[][] hands, final String expected, final String actual) {
+		this.check = check;
+		this.engine = engine;
+		this.hands = hands;
+		this.expected = expected;
+		this.actual = actual;
+	}
+
+	/************************ Public methods ***********************/
+
+	/**
+	 * @return what disagrees: "rank", "strength" or "order"
+	 */
+	public String getCheck() {
+		return check;
+	}
+
+	/**
+	 * @return the name of the engine that disagrees
+	 */
+	public String getEngine() {
+		return engine;
+	}
+
+	/**
+	 * @return the packed cards of the hand, or of both hands of a matchup
+	 */
+	public int[][] getHands() {
+		int[][] copy = new int[hands.length][];
+		for(int hand = 0; hand < hands.length; hand++) {
+			copy[hand] = Arrays.copyOf(hands[hand], hands[hand].length);
+		}
+		return copy;
+	}
+
+	public String getExpected() {
+		return expected;
+	}
+
+	public String getActual() {
+		return actual;
+	}
+
+	/**
+	 * @return a command line that checks the diverging cards alone with every engine of the running JVM
+	 */
+	public String getReproduction() {
+		StringBuilder sb = new StringBuilder("java ");
+		if(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+			sb.append("--add-modules jdk.incubator.vector ");
+		}
+		sb.append("-cp target/classes ").append(DifferentialChecker.class.getName()).append(" --check");
+		for(int[] hand : hands) {
+			sb.append(" \"").append(format(hand)).append('"');
+		}
+		return sb.toString();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(check).append(" divergence in ").append(engine).append('\n');
+		for(int[] hand : hands) {
+			sb.append("  cards:     ").append(format(hand)).append('\n');
+		}
+		sb.append("  expected:  ").append(expected).append('\n');
+		sb.append("  actual:    ").append(actual).append('\n');
+		sb.append("  reproduce: ").append(getReproduction());
+		return sb.toString();
+	}
+
+	/************************ Private methods *************************/
+
+	private static String format(final int[] hand) {
+		StringBuilder sb = new StringBuilder();
+		for(int card : hand) {
+			if(sb.length() > 0) {
+				sb.append(' ');
+			}
+			sb.append(PackedCard.format(card));
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,111 @@
+package poker.equity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import poker.eval.StartingHands;
+import poker.model.CardValue;
+
+public class PreflopEquityGeneratorTest {
+
+	private static final int ACES = CardValue.A.ordinal() * 13 + CardValue.A.ordinal();
+	private static final int KINGS = CardValue.K.ordinal() * 13 + CardValue.K.ordinal();
+
+	@Nested
+	@DisplayName("Tests for the StartingHands helpers")
+	class StartingHandsTests {
+
+		@Test
+		void coverAllCombinations() {
+			int combinations = 0;
+			for(int hand = 0; hand < StartingHands.NUMBER_OF_STARTING_HANDS; hand++) {
+				for(int[] combination : StartingHands.getCombinations(hand)) {
+					assertEquals(hand, StartingHands.indexOf(combination[0], combination[1]));
+					combinations++;
+				}
+			}
+
+			assertEquals(52 * 51 / 2, combinations);
+		}
+
+		@Test
+		void nameStartingHands() {
+			assertEquals("AA", StartingHands.getName(ACES));
+			assertEquals("AKs", StartingHands.getName(CardValue.A.ordinal() * 13 + CardValue.K.ordinal()));
+			assertEquals("T9o", StartingHands.getName(CardValue._9.ordinal() * 13 + CardValue.T.ordinal()));
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for generating and loading tables")
+	class GenerateTests {
+
+		@TempDir
+		Path directory;
+
+		@Test
+		void generateSaveAndLoadTable() throws IOException, InterruptedException {
+			// arrange
+			PreflopEquityGenerator generator = new PreflopEquityGenerator(2, directory.resolve("checkpoint.txt"));
+			Path file = directory.resolve("preflop.bin");
+
+			// act
+			generator.generate(new int[] { ACES, KINGS }).save(file);
+			PreflopEquityTable table = PreflopEquityTable.load(file);
+
+			// assert: Aces win about 82 % against Kings
+			assertEquals(1, generator.getComputedMatchups());
+			assertTrue(table.getEquity(ACES, KINGS) > 0.81f && table.getEquity(ACES, KINGS) < 0.83f);
+			assertEquals(1.0f, table.getEquity(ACES, KINGS) + table.getEquity(KINGS, ACES), 1e-6f);
+			assertEquals(0.5f, table.getEquity(ACES, ACES));
+			assertTrue(Float.isNaN(table.getEquity(ACES, 0)));
+		}
+
+		@Test
+		void resumeFromCheckpoint() throws IOException, InterruptedException {
+			// arrange
+			Path checkpoint = directory.resolve("checkpoint.txt");
+			float equity = new PreflopEquityGenerator(2, checkpoint).generate(new int[] { ACES, KINGS }).getEquity(ACES, KINGS);
+			PreflopEquityGenerator generator = new PreflopEquityGenerator(2, checkpoint);
+
+			// act
+			PreflopEquityTable table = generator.generate(new int[] { ACES, KINGS });
+
+			// assert
+			assertEquals(0, generator.getComputedMatchups());
+			assertEquals(equity, table.getEquity(ACES, KINGS));
+		}
+
+		@Test
+		void recomputeDamagedRecords() throws IOException, InterruptedException {
+			// arrange: a record with a wrong checksum, followed by the incomplete last line of a killed run
+			Path checkpoint = directory.resolve("checkpoint.txt");
+			float equity = new PreflopEquityGenerator(2, checkpoint).generate(new int[] { ACES, KINGS }).getEquity(ACES, KINGS);
+			String record = Files.readAllLines(checkpoint, StandardCharsets.UTF_8).get(0);
+			String damaged = record.replaceFirst(" \\d+ ", " 1 ");
+			Files.write(checkpoint, (damaged + System.lineSeparator() + record.substring(0, record.length() / 2)).getBytes(StandardCharsets.UTF_8));
+			PreflopEquityGenerator generator = new PreflopEquityGenerator(2, checkpoint);
+
+			// act
+			PreflopEquityTable table = generator.generate(new int[] { ACES, KINGS });
+			List<String> lines = Files.readAllLines(checkpoint, StandardCharsets.UTF_8);
+
+			// assert: the matchup is computed again and appended on a line of its own
+			assertEquals(1, generator.getComputedMatchups());
+			assertEquals(equity, table.getEquity(ACES, KINGS));
+			assertEquals(2, lines.size());
+			assertEquals(record, lines.get(1));
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package poker.eval;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static poker.test.helpers.CardHandTestUtils.randomHands;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+public class BatchEvaluatorTest {
+
+	@Test
+	void matchScalarEvaluatorForAllVariants() {
+		for(GameVariant variant : GameVariant.values()) {
+			// arrange
+			List<BatchEvaluator> batchEvaluators = new ArrayList<BatchEvaluator>();
+			batchEvaluators.add(BatchEvaluator.create(variant));
+			BatchEvaluator vectorEvaluator = BatchEvaluator.createVectorEvaluator(variant);
+			if(null != vectorEvaluator) {
+				batchEvaluators.add(vectorEvaluator);
+			}
+			FastEvaluator scalarEvaluator = new FastEvaluator(variant);
+			long[] hands = randomHands(variant, 10_007, 5, 7, new SplittableRandom(35L));
+			int[] expected = new int[hands.length];
+
+			// act
+			for(int hand = 0; hand < hands.length; hand++) {
+				expected[hand] = scalarEvaluator.evaluate(hands[hand]);
+			}
+
+			// assert
+			for(BatchEvaluator batchEvaluator : batchEvaluators) {
+				int[] actual = new int[hands.length];
+				batchEvaluator.evaluateAll(hands, actual, hands.length);
+				assertArrayEquals(expected, actual, variant.name() + " " + batchEvaluator.getClass().getSimpleName());
+				assertEquals(variant, batchEvaluator.getVariant());
+			}
+		}
+	}
+
+	@Test
+	void selectScalarEvaluatorByDefault() {
+		// act
+		BatchEvaluator evaluator = BatchEvaluator.create(GameVariant.STANDARD);
+
+		// assert
+		assertTrue(evaluator instanceof FastEvaluator);
+	}
+
+	@Test
+	void selectVectorEvaluatorIfEnabled() {
+		// arrange
+		System.setProperty(BatchEvaluator.VECTOR_PROPERTY, "true");
+
+		try {
+			// act
+			BatchEvaluator evaluator = BatchEvaluator.create(GameVariant.STANDARD);
+
+			// assert
+			if(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+				assertEquals("VectorBatchEvaluator", evaluator.getClass().getSimpleName());
+			} else {
+				assertTrue(evaluator instanceof FastEvaluator);
+			}
+		} finally {
+			System.clearProperty(BatchEvaluator.VECTOR_PROPERTY);
+		}
+	}
+}
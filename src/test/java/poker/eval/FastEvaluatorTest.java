@@ -0,0 +1,115 @@
+package poker.eval;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static poker.test.helpers.CardHandTestUtils.pack;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import poker.model.Card;
+import poker.model.CardSuit;
+import poker.model.CardValue;
+import poker.model.Rank;
+
+public class FastEvaluatorTest {
+
+	@Nested
+	@DisplayName("rankPosition")
+	class RankPosition {
+
+		private FastEvaluator evaluator = new FastEvaluator();
+
+		@Test
+		void findPairsInPartialBoards() {
+			// arrange
+			long pair = mask(
+					new Card(CardSuit.H, CardValue._7),
+					new Card(CardSuit.C, CardValue._7),
+					new Card(CardSuit.D, CardValue._2));
+			long twoPairs = mask(
+					new Card(CardSuit.H, CardValue._7),
+					new Card(CardSuit.C, CardValue._7),
+					new Card(CardSuit.D, CardValue._2),
+					new Card(CardSuit.S, CardValue._2));
+			long three = mask(
+					new Card(CardSuit.H, CardValue.Q),
+					new Card(CardSuit.C, CardValue.Q),
+					new Card(CardSuit.D, CardValue.Q),
+					new Card(CardSuit.S, CardValue._2));
+			long four = mask(
+					new Card(CardSuit.H, CardValue.Q),
+					new Card(CardSuit.C, CardValue.Q),
+					new Card(CardSuit.D, CardValue.Q),
+					new Card(CardSuit.S, CardValue.Q));
+
+			// act + assert
+			assertEquals(Rank.PAIR, rankOf(evaluator.rankPosition(pair)));
+			assertEquals(Rank.TWO_PAIRS, rankOf(evaluator.rankPosition(twoPairs)));
+			assertEquals(Rank.THREE_OF_A_KIND, rankOf(evaluator.rankPosition(three)));
+			assertEquals(Rank.FOUR_OF_A_KIND, rankOf(evaluator.rankPosition(four)));
+		}
+
+		@Test
+		void findNoStraightOrFlushInFourCards() {
+			// arrange
+			long cards = mask(
+					new Card(CardSuit.H, CardValue._9),
+					new Card(CardSuit.H, CardValue._8),
+					new Card(CardSuit.H, CardValue._7),
+					new Card(CardSuit.H, CardValue._6));
+
+			// act
+			int position = evaluator.rankPosition(cards);
+
+			// assert
+			assertEquals(Rank.HIGH_CARD, rankOf(position));
+		}
+
+		@Test
+		void matchStrengthOfFiveCards() {
+			// arrange
+			long cards = mask(
+					new Card(CardSuit.H, CardValue._9),
+					new Card(CardSuit.H, CardValue._8),
+					new Card(CardSuit.H, CardValue._7),
+					new Card(CardSuit.H, CardValue._6),
+					new Card(CardSuit.H, CardValue._5));
+
+			// act
+			int position = evaluator.rankPosition(cards);
+
+			// assert
+			assertEquals(evaluator.evaluate(cards) >>> HandStrength.RANK_SHIFT, position);
+			assertEquals(Rank.STRAIGHT_FLUSH, rankOf(position));
+		}
+
+		@Test
+		void findNoLowballRankInFourCards() {
+			// arrange
+			FastEvaluator lowball = new FastEvaluator(GameVariant.ACE_TO_FIVE_LOWBALL);
+			long cards = mask(
+					new Card(CardSuit.H, CardValue._7),
+					new Card(CardSuit.C, CardValue._7),
+					new Card(CardSuit.D, CardValue._2),
+					new Card(CardSuit.S, CardValue._3));
+
+			// act
+			int position = lowball.rankPosition(cards);
+
+			// assert
+			assertEquals(-1, position);
+		}
+
+		private Rank rankOf(final int position) {
+			return evaluator.getVariant().getRank(position << HandStrength.RANK_SHIFT);
+		}
+	}
+
+	/************************ Private methods *************************/
+
+	private static long mask(final Card... cards) {
+		int[] packed = pack(cards);
+		return PackedCard.toMask(packed, 0, packed.length);
+	}
+}
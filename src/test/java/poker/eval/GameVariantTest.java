@@ -0,0 +1,168 @@
+package poker.eval;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static poker.test.helpers.CardHandTestUtils.pack;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import poker.model.Card;
+import poker.model.CardSuit;
+import poker.model.CardValue;
+import poker.model.Rank;
+
+public class GameVariantTest {
+
+	@Test
+	void buildDecksOfVariants() {
+		assertEquals(52, GameVariant.STANDARD.getDeck().length);
+		assertEquals(36, GameVariant.SHORT_DECK.getDeck().length);
+		assertEquals(PackedCard.pack(new Card(CardSuit.C, CardValue._6)), GameVariant.SHORT_DECK.getDeck()[0]);
+	}
+
+	@Test
+	void pickBestFiveOfSevenCardsInEveryVariant() {
+		for(GameVariant variant : GameVariant.values()) {
+			// arrange
+			FastEvaluator evaluator = new FastEvaluator(variant);
+			Random random = new Random(28);
+			int[] deck = variant.getDeck();
+
+			for(int deal = 0; deal < 5000; deal++) {
+				for(int i = 0; i < 7; i++) {
+					int j = i + random.nextInt(deck.length - i);
+					int swap = deck[i];
+					deck[i] = deck[j];
+					deck[j] = swap;
+				}
+
+				int best = -1;
+				for(int left = 0; left < 7; left++) {
+					for(int right = left + 1; right < 7; right++) {
+						long fiveCards = PackedCard.toMask(deck, 0, 7) & ~PackedCard.toMask(deck[left]) & ~PackedCard.toMask(deck[right]);
+						best = Math.max(best, evaluator.evaluate(fiveCards));
+					}
+				}
+
+				// act + assert
+				assertEquals(best, evaluator.evaluate(deck, 0, 7), variant.toString());
+			}
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for GameVariant.SHORT_DECK")
+	class ShortDeckTests {
+
+		private FastEvaluator evaluator = new FastEvaluator(GameVariant.SHORT_DECK);
+
+		@Test
+		void recognizeAceSixStraight() {
+			// arrange
+			int[] aceSix = pack(
+					new Card(CardSuit.C, CardValue.A),
+					new Card(CardSuit.D, CardValue._6),
+					new Card(CardSuit.H, CardValue._7),
+					new Card(CardSuit.S, CardValue._8),
+					new Card(CardSuit.C, CardValue._9));
+			int[] sixTen = pack(
+					new Card(CardSuit.C, CardValue.T),
+					new Card(CardSuit.D, CardValue._6),
+					new Card(CardSuit.H, CardValue._7),
+					new Card(CardSuit.S, CardValue._8),
+					new Card(CardSuit.C, CardValue._9));
+
+			// act
+			int aceSixStrength = evaluator.evaluate(aceSix, 0, 5);
+			int sixTenStrength = evaluator.evaluate(sixTen, 0, 5);
+
+			// assert
+			assertEquals(Rank.STRAIGHT, GameVariant.SHORT_DECK.getRank(aceSixStrength));
+			assertTrue(sixTenStrength > aceSixStrength);
+		}
+
+		@Test
+		void rankFlushAboveFullHouse() {
+			// arrange
+			int[] flush = pack(
+					new Card(CardSuit.H, CardValue.A),
+					new Card(CardSuit.H, CardValue._9),
+					new Card(CardSuit.H, CardValue._7),
+					new Card(CardSuit.H, CardValue._6),
+					new Card(CardSuit.H, CardValue.K));
+			int[] fullHouse = pack(
+					new Card(CardSuit.S, CardValue.A),
+					new Card(CardSuit.C, CardValue.A),
+					new Card(CardSuit.D, CardValue.A),
+					new Card(CardSuit.S, CardValue.K),
+					new Card(CardSuit.C, CardValue.K));
+			FastEvaluator standardEvaluator = new FastEvaluator();
+
+			// act + assert
+			assertTrue(evaluator.evaluate(flush, 0, 5) > evaluator.evaluate(fullHouse, 0, 5));
+			assertTrue(standardEvaluator.evaluate(flush, 0, 5) < standardEvaluator.evaluate(fullHouse, 0, 5));
+			assertEquals(Rank.FLUSH, GameVariant.SHORT_DECK.getRank(evaluator.evaluate(flush, 0, 5)));
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for GameVariant.ACE_TO_FIVE_LOWBALL")
+	class LowballTests {
+
+		private FastEvaluator evaluator = new FastEvaluator(GameVariant.ACE_TO_FIVE_LOWBALL);
+
+		@Test
+		void rankWheelAsBestHand() {
+			// arrange: a suited wheel is neither a straight nor a flush in lowball
+			int[] wheel = pack(
+					new Card(CardSuit.C, CardValue.A),
+					new Card(CardSuit.C, CardValue._2),
+					new Card(CardSuit.C, CardValue._3),
+					new Card(CardSuit.C, CardValue._4),
+					new Card(CardSuit.C, CardValue._5));
+			int[] sixLow = pack(
+					new Card(CardSuit.C, CardValue._6),
+					new Card(CardSuit.D, CardValue._2),
+					new Card(CardSuit.H, CardValue._3),
+					new Card(CardSuit.S, CardValue._4),
+					new Card(CardSuit.C, CardValue.A));
+
+			// act
+			int wheelStrength = evaluator.evaluate(wheel, 0, 5);
+			int sixLowStrength = evaluator.evaluate(sixLow, 0, 5);
+
+			// assert
+			assertEquals(Rank.HIGH_CARD, GameVariant.ACE_TO_FIVE_LOWBALL.getRank(wheelStrength));
+			assertTrue(wheelStrength > sixLowStrength);
+		}
+
+		@Test
+		void rankPairsBelowHighCards() {
+			// arrange
+			int[] kingLow = pack(
+					new Card(CardSuit.C, CardValue.K),
+					new Card(CardSuit.D, CardValue.Q),
+					new Card(CardSuit.H, CardValue.J),
+					new Card(CardSuit.S, CardValue._9),
+					new Card(CardSuit.C, CardValue._8));
+			int[] pairOfAces = pack(
+					new Card(CardSuit.C, CardValue.A),
+					new Card(CardSuit.D, CardValue.A),
+					new Card(CardSuit.H, CardValue._2),
+					new Card(CardSuit.S, CardValue._3),
+					new Card(CardSuit.C, CardValue._4));
+
+			// act
+			int kingLowStrength = evaluator.evaluate(kingLow, 0, 5);
+			int pairStrength = evaluator.evaluate(pairOfAces, 0, 5);
+
+			// assert
+			assertEquals(Rank.PAIR, GameVariant.ACE_TO_FIVE_LOWBALL.getRank(pairStrength));
+			assertTrue(kingLowStrength > pairStrength);
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package poker.eval;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import poker.model.CardValue;
+import poker.model.Rank;
+
+public class LookupTablesTest {
+
+	@Test
+	void shareTablesOfVariant() {
+		// act
+		LookupTables standard = LookupTables.forVariant(GameVariant.STANDARD);
+		LookupTables shortDeck = LookupTables.forVariant(GameVariant.SHORT_DECK);
+
+		// assert
+		assertSame(standard, LookupTables.standard());
+		assertSame(shortDeck, LookupTables.forVariant(GameVariant.SHORT_DECK));
+		assertNotSame(standard, shortDeck);
+		assertEquals(GameVariant.SHORT_DECK, shortDeck.getVariant());
+	}
+
+	@Test
+	void findBestStraight() {
+		// arrange
+		LookupTables standard = LookupTables.generate(GameVariant.STANDARD);
+		LookupTables shortDeck = LookupTables.generate(GameVariant.SHORT_DECK);
+		int sixToAce = values(CardValue._6, CardValue._7, CardValue._8, CardValue._9, CardValue.T, CardValue.J, CardValue.Q, CardValue.K, CardValue.A);
+		int aceToNine = values(CardValue.A, CardValue._6, CardValue._7, CardValue._8, CardValue._9);
+
+		// assert: the highest straight wins, and the Ace is low in a short deck's lowest straight
+		assertEquals(1 << CardValue.A.ordinal(), standard.straightHigh(sixToAce));
+		assertEquals(0, standard.straightHigh(aceToNine));
+		assertEquals(1 << CardValue._9.ordinal(), shortDeck.straightHigh(aceToNine));
+	}
+
+	@Test
+	void orderRanksOfVariant() {
+		// arrange
+		LookupTables shortDeck = LookupTables.generate(GameVariant.SHORT_DECK);
+		int flushAndFullHouse = 1 << Rank.FLUSH.ordinal() | 1 << Rank.FULL_HOUSE.ordinal();
+
+		// assert: a flush beats a full house in a short deck
+		assertEquals(Rank.FLUSH.ordinal(), shortDeck.bestRank(flushAndFullHouse));
+		assertEquals(Rank.FULL_HOUSE.ordinal(), LookupTables.generate(GameVariant.STANDARD).bestRank(flushAndFullHouse));
+	}
+
+	/************************ Private methods *************************/
+
+	private static int values(final CardValue... values) {
+		int mask = 0;
+		for(CardValue value : values) {
+			mask |= 1 << value.ordinal();
+		}
+		return mask;
+	}
+}
@@ -0,0 +1,248 @@
+package poker.eval;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static poker.test.helpers.CardHandTestUtils.dealCards;
+import static poker.test.helpers.CardHandTestUtils.pack;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import poker.error.HandSizeError;
+import poker.game.Ranker;
+import poker.model.Card;
+import poker.model.CardHand;
+import poker.model.CardSuit;
+import poker.model.CardValue;
+import poker.model.Rank;
+
+public class OmahaEvaluatorTest {
+
+	private static final int NUMBER_OF_DEALS = 2000;
+
+	@Nested
+	@DisplayName("Tests for the five card evaluation of the fast engine")
+	class FiveCardTests {
+
+		private FastEvaluator evaluator = new FastEvaluator();
+
+		@Test
+		void matchCardHandRanks() throws HandSizeError {
+			Random random = new Random(26);
+
+			for(int deal = 0; deal < NUMBER_OF_DEALS * 10; deal++) {
+				// arrange
+				int[] cards = dealCards(random, 5);
+				CardHand hand = new CardHand(unpack(cards, 0, 5));
+
+				// act
+				int strength = evaluator.evaluate(cards, 0, 5);
+
+				// assert
+				assertEquals(hand.getRank(), HandStrength.getRank(strength), hand.toString());
+				assertEquals(strength, evaluator.evaluate(hand));
+			}
+		}
+
+		@Test
+		void matchRankerOrder() throws HandSizeError {
+			Random random = new Random(126);
+			Ranker ranker = new Ranker();
+
+			for(int deal = 0; deal < NUMBER_OF_DEALS * 10; deal++) {
+				// arrange
+				int[] cards = dealCards(random, 10);
+				CardHand hand1 = new CardHand(unpack(cards, 0, 5));
+				CardHand hand2 = new CardHand(unpack(cards, 5, 5));
+
+				// act
+				int expected = ranker.compareHands(hand1, hand2);
+				int actual = Integer.compare(evaluator.evaluate(cards, 0, 5), evaluator.evaluate(cards, 5, 5));
+
+				// assert: the engine has to agree wherever the Ranker names a winner
+				if(expected != 0) {
+					assertEquals(Integer.signum(expected), actual, hand1 + " against " + hand2);
+				}
+			}
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for the evaluate() method")
+	class EvaluateTests {
+
+		private OmahaEvaluator evaluator = new OmahaEvaluator();
+
+		@Test
+		void matchBruteForceForOmaha() throws HandSizeError {
+			matchBruteForce(4, 5);
+			matchBruteForce(4, 4);
+			matchBruteForce(4, 3);
+		}
+
+		@Test
+		void matchBruteForceForOmahaFive() throws HandSizeError {
+			matchBruteForce(5, 5);
+		}
+
+		@Test
+		void useExactlyTwoHoleCards() throws HandSizeError {
+			// arrange: four hearts on the board and a single heart on the hand make no flush, as two hole cards must be used
+			evaluator.setBoard(pack(
+					new Card(CardSuit.H, CardValue.A),
+					new Card(CardSuit.H, CardValue.K),
+					new Card(CardSuit.H, CardValue._7),
+					new Card(CardSuit.H, CardValue._2),
+					new Card(CardSuit.S, CardValue._9)));
+
+			// act
+			int strength = evaluator.evaluate(pack(
+					new Card(CardSuit.H, CardValue.Q),
+					new Card(CardSuit.C, CardValue._3),
+					new Card(CardSuit.D, CardValue._5),
+					new Card(CardSuit.S, CardValue._4)));
+
+			// assert
+			assertEquals(Rank.HIGH_CARD, HandStrength.getRank(strength));
+		}
+
+		@Test
+		void rejectWrongNumberOfHoleCards() throws HandSizeError {
+			evaluator.setBoard(pack(
+					new Card(CardSuit.H, CardValue.A),
+					new Card(CardSuit.H, CardValue.K),
+					new Card(CardSuit.H, CardValue._7)));
+
+			assertThrows(HandSizeError.class, () -> evaluator.evaluate(pack(
+					new Card(CardSuit.H, CardValue.Q),
+					new Card(CardSuit.C, CardValue._3),
+					new Card(CardSuit.D, CardValue._5))));
+		}
+
+		@Test
+		void rejectEvaluationWithoutBoard() {
+			// arrange
+			OmahaEvaluator withoutBoard = new OmahaEvaluator();
+			int[] hole = pack(
+					new Card(CardSuit.H, CardValue.Q),
+					new Card(CardSuit.C, CardValue._3),
+					new Card(CardSuit.D, CardValue._5),
+					new Card(CardSuit.S, CardValue._9));
+
+			// act + assert
+			assertThrows(IllegalStateException.class, () -> withoutBoard.evaluate(hole));
+			assertThrows(IllegalStateException.class, () -> withoutBoard.evaluateLow(hole));
+		}
+
+		@Test
+		void rejectCardsDealtTwice() throws HandSizeError {
+			// arrange
+			int[] board = pack(
+					new Card(CardSuit.H, CardValue._7),
+					new Card(CardSuit.C, CardValue._7),
+					new Card(CardSuit.D, CardValue._2));
+			evaluator.setBoard(board);
+
+			// act + assert
+			assertThrows(IllegalArgumentException.class, () -> evaluator.setBoard(pack(
+					new Card(CardSuit.H, CardValue._7),
+					new Card(CardSuit.C, CardValue._8),
+					new Card(CardSuit.H, CardValue._7))));
+			assertThrows(IllegalArgumentException.class, () -> evaluator.evaluate(pack(
+					new Card(CardSuit.H, CardValue.Q),
+					new Card(CardSuit.C, CardValue._3),
+					new Card(CardSuit.H, CardValue.Q),
+					new Card(CardSuit.S, CardValue._9))));
+			assertThrows(IllegalArgumentException.class, () -> evaluator.evaluateLow(pack(
+					new Card(CardSuit.H, CardValue.Q),
+					new Card(CardSuit.C, CardValue._3),
+					new Card(CardSuit.D, CardValue._2),
+					new Card(CardSuit.S, CardValue._9))));
+			assertThrows(IllegalArgumentException.class, () -> evaluator.evaluateHiLo(pack(
+					new Card(CardSuit.H, CardValue._7),
+					new Card(CardSuit.C, CardValue._3),
+					new Card(CardSuit.D, CardValue._5),
+					new Card(CardSuit.S, CardValue._9)), new int[1], new int[1], 0));
+		}
+
+		@Test
+		void keepBoardAfterRejectedBoard() throws HandSizeError {
+			// arrange
+			int[] hole = pack(
+					new Card(CardSuit.H, CardValue.Q),
+					new Card(CardSuit.C, CardValue._3),
+					new Card(CardSuit.D, CardValue._5),
+					new Card(CardSuit.S, CardValue._9));
+			evaluator.setBoard(pack(
+					new Card(CardSuit.H, CardValue._7),
+					new Card(CardSuit.C, CardValue._7),
+					new Card(CardSuit.D, CardValue._2)));
+			int expected = evaluator.evaluate(hole);
+
+			// act
+			assertThrows(IllegalArgumentException.class, () -> evaluator.setBoard(pack(
+					new Card(CardSuit.S, CardValue.A),
+					new Card(CardSuit.S, CardValue.A),
+					new Card(CardSuit.S, CardValue.K))));
+
+			// assert
+			assertEquals(expected, evaluator.evaluate(hole));
+		}
+
+		private void matchBruteForce(int numberOfHoleCards, int numberOfBoardCards) throws HandSizeError {
+			Random random = new Random(numberOfHoleCards * 10 + numberOfBoardCards);
+			FastEvaluator fiveCardEvaluator = new FastEvaluator();
+
+			for(int deal = 0; deal < NUMBER_OF_DEALS; deal++) {
+				// arrange
+				int[] cards = dealCards(random, numberOfHoleCards + numberOfBoardCards);
+				int[] hole = new int[numberOfHoleCards];
+				int[] board = new int[numberOfBoardCards];
+				System.arraycopy(cards, 0, hole, 0, numberOfHoleCards);
+				System.arraycopy(cards, numberOfHoleCards, board, 0, numberOfBoardCards);
+
+				Rank bestRank = Rank.HIGH_CARD;
+				int bestStrength = -1;
+				for(int h1 = 0; h1 < hole.length; h1++) {
+					for(int h2 = h1 + 1; h2 < hole.length; h2++) {
+						for(int b1 = 0; b1 < board.length; b1++) {
+							for(int b2 = b1 + 1; b2 < board.length; b2++) {
+								for(int b3 = b2 + 1; b3 < board.length; b3++) {
+									int[] combination = { hole[h1], hole[h2], board[b1], board[b2], board[b3] };
+									CardHand hand = new CardHand(unpack(combination, 0, 5));
+									if(hand.getRank().compareTo(bestRank) > 0) {
+										bestRank = hand.getRank();
+									}
+									bestStrength = Math.max(bestStrength, fiveCardEvaluator.evaluate(combination, 0, 5));
+								}
+							}
+						}
+					}
+				}
+
+				// act
+				evaluator.setBoard(board);
+				int strength = evaluator.evaluate(hole);
+
+				// assert
+				assertEquals(bestRank, HandStrength.getRank(strength));
+				assertEquals(bestStrength, strength);
+			}
+		}
+	}
+
+	/************************ Helpers *************************/
+
+	private static List<Card> unpack(int[] cards, int offset, int length) {
+		List<Card> unpacked = new ArrayList<Card>();
+		for(int i = offset; i < offset + length; i++) {
+			unpacked.add(PackedCard.unpack(cards[i]));
+		}
+		return unpacked;
+	}
+}
@@ -0,0 +1,74 @@
+package poker.eval;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static poker.test.helpers.CardHandTestUtils.pack;
+
+import org.junit.jupiter.api.Test;
+
+import poker.error.HandSizeError;
+import poker.model.Card;
+import poker.model.CardSuit;
+import poker.model.CardValue;
+import poker.model.Rank;
+
+public class OutCounterTest {
+
+	private OutCounter counter = new OutCounter();
+
+	private int[] hole = pack(
+			new Card(CardSuit.H, CardValue.A),
+			new Card(CardSuit.H, CardValue.K));
+
+	@Test
+	void countFlushDrawOnFlop() throws HandSizeError {
+		// arrange
+		int[] flop = pack(
+				new Card(CardSuit.H, CardValue._7),
+				new Card(CardSuit.H, CardValue._2),
+				new Card(CardSuit.C, CardValue._9));
+
+		// act
+		Outs outs = counter.countOuts(hole, flop);
+
+		// assert: nine hearts make a flush, six Aces and Kings pair the hand; cards that only pair the board are no outs
+		assertEquals(Rank.HIGH_CARD, outs.getCurrentRank());
+		assertEquals(47, outs.getUnseenCards());
+		assertEquals(9, outs.getOuts(Rank.FLUSH));
+		assertEquals(6, outs.getOuts(Rank.PAIR));
+		assertEquals(15, outs.getTotalOuts());
+		assertEquals(9.0 / 47, outs.getNextCardProbability(Rank.FLUSH), 1e-9);
+		assertEquals(1.0 - (38.0 * 37.0) / (47.0 * 46.0), outs.getProbabilityByRiver(Rank.FLUSH), 1e-9);
+	}
+
+	@Test
+	void countStraightDrawOnTurn() throws HandSizeError {
+		// arrange
+		int[] turn = pack(
+				new Card(CardSuit.C, CardValue.Q),
+				new Card(CardSuit.D, CardValue.J),
+				new Card(CardSuit.S, CardValue._3),
+				new Card(CardSuit.S, CardValue._4));
+		Outs outs = new Outs();
+
+		// act
+		counter.countOuts(hole, turn, outs);
+
+		// assert: four Tens make the straight
+		assertEquals(46, outs.getUnseenCards());
+		assertEquals(4, outs.getOuts(Rank.STRAIGHT));
+		assertEquals(4.0 / 46, outs.getProbabilityByRiver(Rank.STRAIGHT), 1e-9);
+	}
+
+	@Test
+	void rejectRiverBoard() {
+		int[] river = pack(
+				new Card(CardSuit.C, CardValue.Q),
+				new Card(CardSuit.D, CardValue.J),
+				new Card(CardSuit.S, CardValue._3),
+				new Card(CardSuit.S, CardValue._4),
+				new Card(CardSuit.S, CardValue._5));
+
+		assertThrows(HandSizeError.class, () -> counter.countOuts(hole, river));
+	}
+}
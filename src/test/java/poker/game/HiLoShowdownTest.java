@@ -0,0 +1,198 @@
+package poker.game;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static poker.test.helpers.CardHandTestUtils.pack;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import poker.error.HandSizeError;
+import poker.eval.LowEvaluator;
+import poker.eval.PackedCard;
+import poker.model.Card;
+import poker.model.CardSuit;
+import poker.model.CardValue;
+
+public class HiLoShowdownTest {
+
+	@Nested
+	@DisplayName("Tests for the LowEvaluator")
+	class LowEvaluatorTests {
+
+		@Test
+		void rankWheelAsBestLow() {
+			// arrange
+			int[] wheel = pack(
+					new Card(CardSuit.C, CardValue.A),
+					new Card(CardSuit.D, CardValue._2),
+					new Card(CardSuit.H, CardValue._3),
+					new Card(CardSuit.S, CardValue._4),
+					new Card(CardSuit.C, CardValue._5));
+			int[] sixLow = pack(
+					new Card(CardSuit.C, CardValue._6),
+					new Card(CardSuit.D, CardValue._2),
+					new Card(CardSuit.H, CardValue._3),
+					new Card(CardSuit.S, CardValue._4),
+					new Card(CardSuit.C, CardValue._5));
+
+			// act
+			int wheelLow = LowEvaluator.evaluate(PackedCard.toMask(wheel, 0, 5));
+			int sixHighLow = LowEvaluator.evaluate(PackedCard.toMask(sixLow, 0, 5));
+
+			// assert
+			assertTrue(wheelLow > sixHighLow);
+		}
+
+		@Test
+		void rejectNineHighAndPairedLows() {
+			// arrange
+			int[] nineHigh = pack(
+					new Card(CardSuit.C, CardValue._9),
+					new Card(CardSuit.D, CardValue._2),
+					new Card(CardSuit.H, CardValue._3),
+					new Card(CardSuit.S, CardValue._4),
+					new Card(CardSuit.C, CardValue._5));
+			int[] paired = pack(
+					new Card(CardSuit.C, CardValue._2),
+					new Card(CardSuit.D, CardValue._2),
+					new Card(CardSuit.H, CardValue._3),
+					new Card(CardSuit.S, CardValue._4),
+					new Card(CardSuit.C, CardValue._5));
+
+			// act + assert
+			assertEquals(LowEvaluator.NO_LOW, LowEvaluator.evaluate(PackedCard.toMask(nineHigh, 0, 5)));
+			assertEquals(LowEvaluator.NO_LOW, LowEvaluator.evaluate(PackedCard.toMask(paired, 0, 5)));
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for settling Omaha Hi/Lo showdowns")
+	class OmahaTests {
+
+		private HiLoShowdown showdown = new HiLoShowdown();
+
+		private int[] board = pack(
+				new Card(CardSuit.C, CardValue._2),
+				new Card(CardSuit.D, CardValue._3),
+				new Card(CardSuit.H, CardValue._7),
+				new Card(CardSuit.S, CardValue.K),
+				new Card(CardSuit.D, CardValue.K));
+
+		@Test
+		void splitBetweenHighAndLow() throws HandSizeError {
+			// arrange
+			int[] lowHand = pack(
+					new Card(CardSuit.S, CardValue.A),
+					new Card(CardSuit.H, CardValue._4),
+					new Card(CardSuit.C, CardValue.Q),
+					new Card(CardSuit.C, CardValue.J));
+			int[] highHand = pack(
+					new Card(CardSuit.H, CardValue.K),
+					new Card(CardSuit.C, CardValue._9),
+					new Card(CardSuit.D, CardValue._9),
+					new Card(CardSuit.S, CardValue._5));
+			long[] payouts = new long[2];
+
+			// act
+			showdown.settleOmaha(board, new int[][] { lowHand, highHand }, 101, payouts);
+
+			// assert: the odd chip goes to the high hand
+			assertArrayEquals(new long[] { 50, 51 }, payouts);
+		}
+
+		@Test
+		void scoopWithoutQualifyingLow() throws HandSizeError {
+			// arrange
+			int[] trips = pack(
+					new Card(CardSuit.H, CardValue.K),
+					new Card(CardSuit.C, CardValue._9),
+					new Card(CardSuit.D, CardValue._9),
+					new Card(CardSuit.S, CardValue._5));
+			int[] pair = pack(
+					new Card(CardSuit.S, CardValue.A),
+					new Card(CardSuit.H, CardValue.A),
+					new Card(CardSuit.C, CardValue.Q),
+					new Card(CardSuit.C, CardValue.J));
+			long[] payouts = new long[2];
+
+			// act
+			showdown.settleOmaha(board, new int[][] { trips, pair }, 100, payouts);
+
+			// assert
+			assertArrayEquals(new long[] { 100, 0 }, payouts);
+		}
+
+		@Test
+		void rejectShowdownWithoutPlayers() {
+			// act + assert
+			assertThrows(IllegalArgumentException.class, () -> showdown.settleOmaha(board, new int[0][], 100, new long[0]));
+			assertThrows(IllegalArgumentException.class, () -> showdown.settleStud(new int[0][], 100, new long[0]));
+		}
+
+		@Test
+		void quarterTiedLows() throws HandSizeError {
+			// arrange
+			int[] firstLow = pack(
+					new Card(CardSuit.S, CardValue.A),
+					new Card(CardSuit.H, CardValue._4),
+					new Card(CardSuit.C, CardValue.Q),
+					new Card(CardSuit.C, CardValue.J));
+			int[] secondLow = pack(
+					new Card(CardSuit.H, CardValue.A),
+					new Card(CardSuit.C, CardValue._4),
+					new Card(CardSuit.D, CardValue.T),
+					new Card(CardSuit.S, CardValue._9));
+			int[] highHand = pack(
+					new Card(CardSuit.H, CardValue.K),
+					new Card(CardSuit.C, CardValue._9),
+					new Card(CardSuit.D, CardValue._9),
+					new Card(CardSuit.S, CardValue._5));
+			long[] payouts = new long[3];
+
+			// act
+			showdown.settleOmaha(board, new int[][] { firstLow, secondLow, highHand }, 100, payouts);
+
+			// assert
+			assertArrayEquals(new long[] { 25, 25, 50 }, payouts);
+		}
+	}
+
+	@Nested
+	@DisplayName("Tests for settling Stud Hi/Lo showdowns")
+	class StudTests {
+
+		private HiLoShowdown showdown = new HiLoShowdown();
+
+		@Test
+		void scoopWithStraightAndLow() throws HandSizeError {
+			// arrange: a Six high straight also makes the best low
+			int[] straight = pack(
+					new Card(CardSuit.C, CardValue._2),
+					new Card(CardSuit.D, CardValue._3),
+					new Card(CardSuit.H, CardValue._4),
+					new Card(CardSuit.S, CardValue._5),
+					new Card(CardSuit.C, CardValue._6),
+					new Card(CardSuit.D, CardValue.K),
+					new Card(CardSuit.H, CardValue.Q));
+			int[] pairs = pack(
+					new Card(CardSuit.S, CardValue.K),
+					new Card(CardSuit.C, CardValue.K),
+					new Card(CardSuit.S, CardValue.Q),
+					new Card(CardSuit.C, CardValue.Q),
+					new Card(CardSuit.D, CardValue._7),
+					new Card(CardSuit.H, CardValue._8),
+					new Card(CardSuit.H, CardValue.A));
+			long[] payouts = new long[2];
+
+			// act
+			showdown.settleStud(new int[][] { straight, pairs }, 60, payouts);
+
+			// assert
+			assertArrayEquals(new long[] { 60, 0 }, payouts);
+		}
+	}
+}
@@ -0,0 +1,195 @@
+package poker.history;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import poker.error.HandHistoryError;
+import poker.eval.FastEvaluator;
+import poker.model.Rank;
+import poker.store.ShowdownOutcome;
+
+public class HandHistoryPipelineTest {
+
+	private static final String HISTORY = String.join("\n",
+			"# three hands",
+			"HAND 1",
+			"BOARD Ah Kd 7c 2h 9s",
+			"PLAYER alice Ad Ac",
+			"PLAYER bob Kh Ks",
+			"PLAYER carol",
+			"END",
+			"",
+			"HAND 2",
+			"BOARD 2c 3c 4d 5h 6s",
+			"PLAYER alice Ah Td",
+			"PLAYER bob As Jd",
+			"END",
+			"HAND 3",
+			"BOARD 2c 3c 4d",
+			"PLAYER alice Ah Td",
+			"PLAYER carol As Jd",
+			"END");
+
+	@Nested
+	@DisplayName("Statistics")
+	class StatisticsTests {
+
+		@Test
+		void countOutcomesAndRanks() throws Exception {
+			// act
+			Map<String, PlayerStatistics> statistics = new HandHistoryPipeline().process(new StringReader(HISTORY));
+
+			// assert
+			PlayerStatistics alice = statistics.get("alice");
+			assertEquals(3, alice.getHands());
+			assertEquals(2, alice.getShowdowns());
+			assertEquals(1, alice.getCount(ShowdownOutcome.WON));
+			assertEquals(1, alice.getCount(ShowdownOutcome.SPLIT));
+			assertEquals(1, alice.getCount(Rank.THREE_OF_A_KIND));
+			assertEquals(1, alice.getCount(Rank.STRAIGHT));
+			assertEquals(0.75, alice.getShowdownWinRate(), 1e-9);
+
+			PlayerStatistics bob = statistics.get("bob");
+			assertEquals(2, bob.getShowdowns());
+			assertEquals(1, bob.getCount(ShowdownOutcome.LOST));
+			assertEquals(1, bob.getCount(ShowdownOutcome.SPLIT));
+
+			PlayerStatistics carol = statistics.get("carol");
+			assertEquals(2, carol.getHands());
+			assertEquals(0, carol.getShowdowns());
+			assertTrue(Double.isNaN(carol.getShowdownWinRate()));
+		}
+
+		@Test
+		void sortPlayersByName() throws Exception {
+			// act
+			Map<String, PlayerStatistics> statistics = new HandHistoryPipeline().process(new StringReader(HISTORY));
+
+			// assert
+			assertEquals("[alice, bob, carol]", statistics.keySet().toString());
+		}
+
+		@Test
+		void processWithSmallestBatchesAndQueues() throws Exception {
+			// arrange
+			StringBuilder history = new StringBuilder();
+			for(int hand = 0; hand < 1000; hand++) {
+				history.append(HISTORY).append('\n');
+			}
+
+			// act
+			Map<String, PlayerStatistics> statistics = new HandHistoryPipeline(1, 1).process(new StringReader(history.toString()));
+
+			// assert
+			assertEquals(3000, statistics.get("alice").getHands());
+			assertEquals(1000, statistics.get("alice").getCount(ShowdownOutcome.WON));
+			assertEquals(1000, statistics.get("bob").getCount(ShowdownOutcome.LOST));
+		}
+	}
+
+	@Nested
+	@DisplayName("Errors")
+	class ErrorTests {
+
+		@Test
+		void reportLineOfDuplicateCard() {
+			// arrange
+			String history = "HAND 1\nBOARD Ah Kd 7c 2h 9s\nPLAYER alice Ah Ac\nEND\n";
+
+			// act
+			HandHistoryError error = assertThrows(HandHistoryError.class, () -> new HandHistoryPipeline().process(new StringReader(history)));
+
+			// assert
+			assertEquals(3, error.getLineNumber());
+		}
+
+		@Test
+		void reportLineOfDuplicatePlayer() {
+			// arrange
+			String history = "HAND 1\nBOARD Ah Kd 7c 2h 9s\nPLAYER alice Ad Ac\nPLAYER alice Kh Ks\nEND\n";
+
+			// act
+			HandHistoryError error = assertThrows(HandHistoryError.class, () -> new HandHistoryPipeline().process(new StringReader(history)));
+
+			// assert
+			assertEquals(4, error.getLineNumber());
+		}
+
+		@Test
+		void reportLineOfSecondBoard() {
+			// arrange
+			String history = "HAND 1\nBOARD Ah Kd 7c\nBOARD 2h 9s 3c 4c 5c\nPLAYER alice Ad Ac\nEND\n";
+
+			// act
+			HandHistoryError error = assertThrows(HandHistoryError.class, () -> new HandHistoryPipeline().process(new StringReader(history)));
+
+			// assert
+			assertEquals(3, error.getLineNumber());
+		}
+
+		@Test
+		void reportMissingEnd() {
+			// arrange
+			String history = "HAND 1\nBOARD Ah Kd 7c 2h 9s\nPLAYER alice Ad Ac\n";
+
+			// act
+			HandHistoryError error = assertThrows(HandHistoryError.class, () -> new HandHistoryPipeline().process(new StringReader(history)));
+
+			// assert
+			assertEquals(3, error.getLineNumber());
+		}
+
+		@Test
+		void reportUnknownLineType() {
+			// arrange
+			String history = HISTORY + "\nHAND 4\nFLOP Ah Kd 7c\nEND\n";
+
+			// act
+			HandHistoryError error = assertThrows(HandHistoryError.class, () -> new HandHistoryPipeline(1, 1).process(new StringReader(history)));
+
+			// assert
+			assertEquals(20, error.getLineNumber());
+		}
+
+		@Test
+		void reportFailingEvaluation() {
+			// arrange: enough hands to fill the queues, so that the parser blocks once evaluating fails
+			StringBuilder history = new StringBuilder();
+			for(int i = 0; i < 100; i++) {
+				history.append(HISTORY).append('\n');
+			}
+			HandHistoryPipeline pipeline = new HandHistoryPipeline(1, 1, () -> new FastEvaluator() {
+				@Override
+				public int evaluate(final long cards) {
+					throw new UnsupportedOperationException("failing evaluator");
+				}
+			});
+
+			// act
+			IllegalStateException error = assertTimeoutPreemptively(Duration.ofSeconds(10),
+					() -> assertThrows(IllegalStateException.class, () -> pipeline.process(new StringReader(history.toString()))));
+
+			// assert
+			assertTrue(error.getCause() instanceof UnsupportedOperationException);
+		}
+	}
+
+	@Test
+	void rejectInvalidLayout() {
+		// act + assert
+		assertThrows(IllegalArgumentException.class, () -> new HandHistoryPipeline(0, 1));
+		assertThrows(IllegalArgumentException.class, () -> new HandHistoryPipeline(-1, 1));
+		assertThrows(IllegalArgumentException.class, () -> new HandHistoryPipeline(1, 0));
+		assertThrows(IllegalArgumentException.class, () -> new HandHistoryPipeline(1, -1));
+	}
+}
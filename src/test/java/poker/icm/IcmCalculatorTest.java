@@ -0,0 +1,204 @@
+package poker.icm;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class IcmCalculatorTest {
+
+	private static final double PRECISION = 1e-9;
+
+	@Nested
+	@DisplayName("Exact computation")
+	class ExactTests {
+
+		@Test
+		void computeHeadsUpEquities() throws Exception {
+			// act
+			double[] equities = new IcmCalculator(1).computeExact(new double[] { 1000, 3000 }, new double[] { 70, 30 });
+
+			// assert
+			assertArrayEquals(new double[] { 40, 60 }, equities, PRECISION);
+		}
+
+		@Test
+		void matchAllFinishingOrders() throws Exception {
+			// arrange
+			SplittableRandom random = new SplittableRandom(41L);
+			double[] stacks = new double[7];
+			for(int player = 0; player < stacks.length; player++) {
+				stacks[player] = 100 + random.nextInt(5000);
+			}
+			double[] payouts = { 50, 30, 15, 5 };
+
+			// act
+			double[] equities = new IcmCalculator(1).computeExact(stacks, payouts);
+
+			// assert
+			assertArrayEquals(sumOverFinishingOrders(stacks, payouts, 0L, 0, 1.0, new double[stacks.length]), equities, PRECISION);
+			assertEquals(100, sum(equities), PRECISION);
+		}
+
+		@Test
+		void shareLastPlacesAmongBustedPlayers() throws Exception {
+			// act
+			double[] equities = new IcmCalculator(1).computeExact(new double[] { 10, 0, 10, 0 }, new double[] { 60, 30, 10 });
+
+			// assert
+			assertArrayEquals(new double[] { 45, 5, 45, 5 }, equities, PRECISION);
+		}
+
+		@Test
+		void computeLargeLayersInParallel() throws Exception {
+			// arrange
+			double[] stacks = new double[18];
+			for(int player = 0; player < stacks.length; player++) {
+				stacks[player] = 1000 + 250 * player;
+			}
+			double[] payouts = { 25, 17, 12, 10, 8, 7, 6, 5, 5, 5 };
+
+			// act
+			double[] sequential = new IcmCalculator(1).computeExact(stacks, payouts);
+			double[] parallel;
+			try(IcmCalculator calculator = new IcmCalculator(4)) {
+				parallel = calculator.computeExact(stacks, payouts);
+			}
+
+			// assert
+			assertArrayEquals(sequential, parallel, PRECISION);
+			assertEquals(100, sum(parallel), PRECISION);
+		}
+
+		@Test
+		void rejectInvalidStacks() {
+			// arrange
+			IcmCalculator calculator = new IcmCalculator(1);
+
+			// act + assert
+			assertThrows(IllegalArgumentException.class, () -> calculator.computeExact(new double[] { 10, -1 }, new double[] { 1 }));
+			assertThrows(IllegalArgumentException.class, () -> calculator.computeExact(new double[] { 0, 0 }, new double[] { 1 }));
+			assertThrows(IllegalArgumentException.class, () -> calculator.computeExact(new double[IcmCalculator.MAX_EXACT_PLAYERS + 1], new double[] { 1 }));
+		}
+	}
+
+	@Nested
+	@DisplayName("Monte Carlo computation")
+	class MonteCarloTests {
+
+		@Test
+		void approximateExactEquities() throws Exception {
+			// arrange
+			double[] stacks = { 5000, 3000, 2500, 1500, 1000, 500 };
+			double[] payouts = { 50, 30, 20 };
+
+			// act
+			double[] exact = new IcmCalculator(1).computeExact(stacks, payouts);
+			double[] estimated;
+			try(IcmCalculator calculator = new IcmCalculator(2)) {
+				estimated = calculator.computeMonteCarlo(stacks, payouts, 200_000, 41L);
+			}
+
+			// assert
+			assertArrayEquals(exact, estimated, 0.2);
+			assertEquals(100, sum(estimated), PRECISION);
+		}
+
+		@Test
+		void reproduceResultsWithAnyNumberOfThreads() throws Exception {
+			// arrange
+			double[] stacks = new double[200];
+			for(int player = 0; player < stacks.length; player++) {
+				stacks[player] = 500 + 37 * player;
+			}
+			double[] payouts = new double[30];
+			for(int place = 0; place < payouts.length; place++) {
+				payouts[place] = 30 - place;
+			}
+
+			// act
+			double[] oneThread = new IcmCalculator(1).computeMonteCarlo(stacks, payouts, 20_000, 7L);
+			double[] threeThreads;
+			double[] threeThreadsAgain;
+			try(IcmCalculator calculator = new IcmCalculator(3)) {
+				threeThreads = calculator.computeMonteCarlo(stacks, payouts, 20_000, 7L);
+				threeThreadsAgain = calculator.computeMonteCarlo(stacks, payouts, 20_000, 7L);
+			}
+
+			// assert
+			assertArrayEquals(oneThread, threeThreads, 0.0);
+			assertArrayEquals(oneThread, threeThreadsAgain, 0.0);
+		}
+
+		@Test
+		void handleEmptyPayoutsAndRejectInvalidTrials() throws Exception {
+			// arrange
+			IcmCalculator calculator = new IcmCalculator(1);
+			double[] stacks = { 5000, 3000, 0 };
+
+			// act
+			double[] equities = calculator.computeMonteCarlo(stacks, new double[0], 1000, 41L);
+
+			// assert
+			assertArrayEquals(new double[3], equities, 0.0);
+			assertThrows(IllegalArgumentException.class, () -> calculator.computeMonteCarlo(stacks, new double[] { 1 }, 0, 41L));
+		}
+
+		@Test
+		void fallBackToMonteCarloForLargeFields() throws Exception {
+			// arrange
+			double[] stacks = new double[IcmCalculator.MAX_EXACT_PLAYERS + 10];
+			Arrays.fill(stacks, 1000);
+			double[] payouts = { 50, 30, 20 };
+
+			// act
+			double[] equities = new IcmCalculator(1).compute(stacks, payouts);
+
+			// assert: all players are equal
+			for(double equity : equities) {
+				assertEquals(100.0 / stacks.length, equity, 0.2);
+			}
+		}
+	}
+
+	/************************ Private methods *************************/
+
+	/**
+	 * Sums the payouts over all finishing orders by the definition of the model, in factorial time.
+	 */
+	private static double[] sumOverFinishingOrders(final double[] stacks, final double[] payouts, final long placed, final int place,
+			final double probability, final double[] equities) {
+
+		if(place == Math.min(payouts.length, stacks.length)) {
+			return equities;
+		}
+		double remaining = 0;
+		for(int player = 0; player < stacks.length; player++) {
+			if((placed & 1L << player) == 0) {
+				remaining += stacks[player];
+			}
+		}
+		for(int player = 0; player < stacks.length; player++) {
+			if((placed & 1L << player) == 0) {
+				double next = probability * stacks[player] / remaining;
+				equities[player] += next * payouts[place];
+				sumOverFinishingOrders(stacks, payouts, placed | 1L << player, place + 1, next, equities);
+			}
+		}
+		return equities;
+	}
+
+	private static double sum(final double[] values) {
+		double sum = 0;
+		for(double value : values) {
+			sum += value;
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,123 @@
+package poker.icm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import poker.eval.StartingHands;
+
+public class PushFoldCalculatorTest {
+
+	private static final int NUMBER_OF_HANDS = StartingHands.NUMBER_OF_STARTING_HANDS;
+
+	/** A made-up equity that grows with the values of a starting hand, with a bonus for pairs and suited hands */
+	private static final StartingHandEquity EQUITY = (hand1, hand2) -> 0.5 + 0.45 * Math.tanh((score(hand1) - score(hand2)) / 40.0);
+
+	@Nested
+	@DisplayName("Spots")
+	class SpotTests {
+
+		@Test
+		void keepChipsInPlay() {
+			// arrange
+			PushFoldSpot spot = new PushFoldSpot(new double[] { 3000, 1500, 800, 2700 }, new double[] { 50, 30, 20 }, 1, 2, 100, 200, 25);
+
+			// act + assert
+			assertEquals(8000, sum(spot.afterFold()), 1e-9);
+			assertEquals(8000, sum(spot.afterSteal()), 1e-9);
+			assertEquals(8000, sum(spot.afterShowdown(1)), 1e-9);
+			assertEquals(8000, sum(spot.afterShowdown(2)), 1e-9);
+			// both players put in the caller's 775 chips left after the ante, and the winner also takes the antes
+			assertEquals(1475 - 775, spot.afterShowdown(2)[1], 1e-9);
+			assertEquals(0, spot.afterShowdown(1)[2], 1e-9);
+			assertEquals(1475 + 775 + 100, spot.afterShowdown(1)[1], 1e-9);
+		}
+	}
+
+	@Nested
+	@DisplayName("Decisions")
+	class DecisionTests {
+
+		@Test
+		void rejectMissingEquities() {
+			// arrange: a partial table, which knows only the equities of one starting hand
+			StartingHandEquity partial = (hand1, hand2) -> hand1 == 0 ? EQUITY.getEquity(hand1, hand2) : Double.NaN;
+
+			// act + assert
+			assertThrows(IllegalArgumentException.class, () -> new PushFoldCalculator(new IcmCalculator(1), partial));
+		}
+
+		@Test
+		void pushAnyHandIfNobodyCalls() throws Exception {
+			// arrange
+			PushFoldCalculator calculator = new PushFoldCalculator(new IcmCalculator(1), EQUITY);
+			PushFoldSpot spot = new PushFoldSpot(new double[] { 3000, 1500, 800, 2700 }, new double[] { 50, 30, 20 }, 1, 2, 100, 200, 25);
+
+			// act
+			PushFoldResult push = calculator.evaluatePush(spot, new boolean[NUMBER_OF_HANDS]);
+
+			// assert
+			assertEquals(1.0, push.getRangeShare(), 1e-9);
+		}
+
+		@Test
+		void pushStrongerHandsFirst() throws Exception {
+			// arrange
+			PushFoldCalculator calculator = new PushFoldCalculator(new IcmCalculator(1), EQUITY);
+			PushFoldSpot spot = new PushFoldSpot(new double[] { 8000, 6000, 6000, 8000 }, new double[] { 50, 30, 20 }, 1, 2, 100, 200, 25);
+
+			// act
+			PushFoldResult push = calculator.solve(spot)[0];
+
+			// assert
+			assertTrue(push.getRangeShare() > 0 && push.getRangeShare() < 1, push.toString());
+			for(int hand = 0; hand < NUMBER_OF_HANDS; hand++) {
+				for(int weaker = 0; weaker < NUMBER_OF_HANDS; weaker++) {
+					if(push.isInRange(weaker) && score(hand) > score(weaker)) {
+						assertTrue(push.isInRange(hand), StartingHands.getName(hand) + " is weaker than " + StartingHands.getName(weaker));
+					}
+				}
+			}
+		}
+
+		@Test
+		void callTighterOnTheBubble() throws Exception {
+			// arrange: four players, three of them paid, against a winner takes all tournament with the same stacks
+			PushFoldCalculator calculator = new PushFoldCalculator(new IcmCalculator(1), EQUITY);
+			double[] stacks = { 4000, 2000, 2000, 4000 };
+			PushFoldSpot bubble = new PushFoldSpot(stacks, new double[] { 50, 30, 20 }, 1, 2, 100, 200, 0);
+			PushFoldSpot winnerTakesAll = new PushFoldSpot(stacks, new double[] { 100 }, 1, 2, 100, 200, 0);
+			boolean[] pushingRange = new boolean[NUMBER_OF_HANDS];
+			Arrays.fill(pushingRange, true);
+
+			// act
+			PushFoldResult bubbleCall = calculator.evaluateCall(bubble, pushingRange);
+			PushFoldResult winnerTakesAllCall = calculator.evaluateCall(winnerTakesAll, pushingRange);
+
+			// assert
+			assertTrue(bubbleCall.getRangeShare() < winnerTakesAllCall.getRangeShare(), bubbleCall + " / " + winnerTakesAllCall);
+		}
+	}
+
+	/************************ Private methods *************************/
+
+	private static double score(final int hand) {
+		int high = Math.max(hand / 13, hand % 13);
+		int low = Math.min(hand / 13, hand % 13);
+		return 4 * high + 2 * low + (StartingHands.isPair(hand) ? 30 : 0) + (StartingHands.isSuited(hand) ? 4 : 0);
+	}
+
+	private static double sum(final double[] values) {
+		double sum = 0;
+		for(double value : values) {
+			sum += value;
+		}
+		return sum;
+	}
+}
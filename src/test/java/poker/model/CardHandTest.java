@@ -1,6 +1,7 @@
 package poker.model;
 
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static poker.test.helpers.CardHandTestUtils.*;
@@ -107,6 +108,48 @@ public class CardHandTest {
 		}
 	}
 	
+	@Nested
+	@DisplayName("Tests for the find...Value() query methods")
+	class QueryTests {
+		
+		@Test
+		void findPairValues() {
+			// arrange
+			CardHand hand = getTwoPairs(); // two Aces, two Fours
+			
+			// assert
+			assertEquals(4, hand.findLowestPairValue());
+			assertEquals(14, hand.findHighestPairValue());
+			assertEquals(0, getHighCardHand().findHighestPairValue());
+		}
+		
+		@Test
+		void findThreesValueOfFullHouseWithHigherPair() {
+			// arrange
+			CardHand hand = getFullHouse(); // three Threes, two Eights
+			
+			// assert
+			assertEquals(3, hand.findThreesValue());
+			assertEquals(0, getTwoPairs().findThreesValue());
+		}
+		
+		@Test
+		void findKickerValuesInDescendingOrder() {
+			// arrange
+			CardHand hand = getPair(); // pair of Fours, King, Ace and Two
+			int[] kickers = new int[5];
+			
+			// act
+			int count = hand.findKickerValues(kickers);
+			
+			// assert
+			assertEquals(3, count);
+			assertArrayEquals(new int[] { 14, 13, 2, 0, 0 }, kickers);
+			assertEquals(14, hand.findHighestSingleCardValue());
+			assertEquals(0, getFullHouse().findHighestSingleCardValue());
+		}
+	}
+	
 	@Nested
 	@DisplayName("Testing the rankAgainst(CardHand other) method")
 	class RankAgainstTests {
@@ -0,0 +1,90 @@
+package poker.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+import poker.eval.BatchEvaluator;
+import poker.eval.FastEvaluator;
+import poker.eval.GameVariant;
+import poker.eval.PackedCard;
+
+public class EvaluationBatcherTest {
+
+	private static final int QUEUED_REQUESTS = 50;
+
+	@Test
+	void combineQueuedRequestsIntoOneBatch() throws Exception {
+		// arrange: an evaluator that holds up the first batch until all other requests have queued up
+		CountDownLatch firstBatchStarted = new CountDownLatch(1);
+		CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+		FastEvaluator fastEvaluator = new FastEvaluator();
+		BatchEvaluator evaluator = new BatchEvaluator() {
+			@Override
+			public void evaluateAll(final long[] cards, final int[] strengths, final int hands) {
+				if(firstBatchStarted.getCount() > 0) {
+					firstBatchStarted.countDown();
+					awaitUninterruptibly(releaseFirstBatch);
+				}
+				fastEvaluator.evaluateAll(cards, strengths, hands);
+			}
+
+			@Override
+			public GameVariant getVariant() {
+				return fastEvaluator.getVariant();
+			}
+		};
+		int[] cards = { PackedCard.parse("2c"), PackedCard.parse("5d"), PackedCard.parse("9h"), PackedCard.parse("Jd"), PackedCard.parse("Ks") };
+		long[] hand = { PackedCard.toMask(cards, 0, cards.length) };
+		ExecutorService callers = Executors.newFixedThreadPool(QUEUED_REQUESTS + 1);
+		List<CompletableFuture<int[]>> results = new ArrayList<CompletableFuture<int[]>>();
+
+		try(EvaluationBatcher batcher = new EvaluationBatcher(evaluator)) {
+			// act
+			results.add(CompletableFuture.supplyAsync(() -> evaluate(batcher, hand), callers));
+			firstBatchStarted.await();
+			for(int i = 0; i < QUEUED_REQUESTS; i++) {
+				results.add(CompletableFuture.supplyAsync(() -> evaluate(batcher, hand), callers));
+			}
+			while(batcher.getQueuedRequests() < QUEUED_REQUESTS) {
+				Thread.sleep(1);
+			}
+			releaseFirstBatch.countDown();
+
+			// assert: the first request is evaluated alone, all requests queued behind it in a single batch
+			for(CompletableFuture<int[]> result : results) {
+				assertArrayEquals(new int[] { fastEvaluator.evaluate(hand[0]) }, result.join());
+			}
+			assertEquals(QUEUED_REQUESTS + 1, batcher.getRequests());
+			assertEquals(2, batcher.getBatches());
+		} finally {
+			callers.shutdownNow();
+		}
+	}
+
+	/************************ Private methods *************************/
+
+	private static int[] evaluate(final EvaluationBatcher batcher, final long[] cards) {
+		try {
+			return batcher.evaluate(cards);
+		} catch (InterruptedException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void awaitUninterruptibly(final CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
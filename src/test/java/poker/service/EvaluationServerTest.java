@@ -0,0 +1,225 @@
+package poker.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import poker.eval.FastEvaluator;
+import poker.eval.PackedCard;
+import poker.model.Rank;
+
+public class EvaluationServerTest {
+
+	private EvaluationServer server;
+	private HttpClient client;
+
+	@BeforeEach
+	void startServer() throws IOException {
+		server = new EvaluationServer(0);
+		server.start();
+		client = HttpClient.newHttpClient();
+	}
+
+	@AfterEach
+	void stopServer() {
+		server.close();
+	}
+
+	@Nested
+	@DisplayName("JSON requests")
+	class JsonRequests {
+
+		@Test
+		void evaluateHands() throws IOException, InterruptedException {
+			// arrange
+			String body = "{\"hands\": [[\"As\", \"Ks\", \"Qs\", \"Js\", \"Ts\"], [\"2c\", \"2d\", \"7h\", \"9s\", \"Jc\", \"Qd\", \"3h\"]]}";
+
+			// act
+			HttpResponse<String> response = post("/evaluate", "application/json", body);
+
+			// assert
+			assertEquals(200, response.statusCode());
+			assertTrue(response.body().contains("\"ranks\":[\"STRAIGHT_FLUSH\",\"PAIR\"]"), response.body());
+		}
+
+		@Test
+		void compareMatchups() throws IOException, InterruptedException {
+			// arrange
+			String body = "{\"matchups\": ["
+					+ "[[\"Ah\", \"Ad\", \"7c\", \"8c\", \"2s\"], [\"Kh\", \"Kd\", \"7d\", \"8d\", \"2h\"]],"
+					+ "[[\"3h\", \"4d\", \"5c\", \"6c\", \"8s\"], [\"3c\", \"4c\", \"5d\", \"6d\", \"7s\"]],"
+					+ "[[\"Ah\", \"Kh\", \"Qh\", \"Jh\", \"9h\"], [\"As\", \"Ks\", \"Qs\", \"Js\", \"9s\"]]]}";
+
+			// act
+			HttpResponse<String> response = post("/compare", "application/json", body);
+
+			// assert
+			assertEquals(200, response.statusCode());
+			assertEquals("{\"results\":[1,-1,0]}", response.body());
+		}
+
+		@Test
+		void rejectInvalidHands() throws IOException, InterruptedException {
+			// act
+			HttpResponse<String> unknownCard = post("/evaluate", "application/json", "{\"hands\": [[\"As\", \"Ks\", \"Qs\", \"Js\", \"1s\"]]}");
+			HttpResponse<String> duplicateCard = post("/evaluate", "application/json", "{\"hands\": [[\"As\", \"Ks\", \"Qs\", \"Js\", \"As\"]]}");
+			HttpResponse<String> tooFewCards = post("/evaluate", "application/json", "{\"hands\": [[\"As\", \"Ks\"]]}");
+			HttpResponse<String> malformed = post("/evaluate", "application/json", "{\"hands\": [");
+			HttpResponse<String> nullHand = post("/evaluate", "application/json", "{\"hands\": [null]}");
+			HttpResponse<String> nullMatchup = post("/compare", "application/json", "{\"matchups\": [null]}");
+			HttpResponse<String> nullMatchupHand = post("/compare", "application/json", "{\"matchups\": [[null, [\"As\", \"Ks\", \"Qs\", \"Js\", \"Ts\"]]]}");
+
+			// assert
+			assertEquals(400, unknownCard.statusCode());
+			assertEquals(400, duplicateCard.statusCode());
+			assertEquals(400, tooFewCards.statusCode());
+			assertEquals(400, malformed.statusCode());
+			assertEquals(400, nullHand.statusCode());
+			assertEquals(400, nullMatchup.statusCode());
+			assertEquals(400, nullMatchupHand.statusCode());
+		}
+
+		@Test
+		void rejectDeeplyNestedBody() throws IOException, InterruptedException {
+			// arrange: far more nesting than the stack of a recursive reader takes, but well below the size limit
+			StringBuilder body = new StringBuilder("{\"hands\": ");
+			for(int i = 0; i < 200_000; i++) {
+				body.append('[');
+			}
+
+			// act
+			HttpResponse<String> response = post("/evaluate", "application/json", body.toString());
+
+			// assert
+			assertEquals(400, response.statusCode());
+		}
+	}
+
+	@Nested
+	@DisplayName("binary requests")
+	class BinaryRequests {
+
+		@Test
+		void evaluateHands() throws IOException, InterruptedException {
+			// arrange
+			int[] cards = {
+					PackedCard.parse("Ah"), PackedCard.parse("Ad"), PackedCard.parse("Ac"), PackedCard.parse("Kd"), PackedCard.parse("Ks"),
+					PackedCard.parse("2c"), PackedCard.parse("5d"), PackedCard.parse("9h"), PackedCard.parse("Jd"), PackedCard.parse("Ks") };
+			int[] expected = new int[2];
+			new FastEvaluator().evaluateAll(cards, 5, expected, 2);
+
+			// act
+			HttpResponse<byte[]> response = postBinary("/evaluate", toBody(5, cards));
+
+			// assert
+			assertEquals(200, response.statusCode());
+			int[] strengths = new int[2];
+			ByteBuffer.wrap(response.body()).asIntBuffer().get(strengths);
+			assertArrayEquals(expected, strengths);
+			assertEquals(Rank.FULL_HOUSE, new FastEvaluator().getVariant().getRank(strengths[0]));
+		}
+
+		@Test
+		void compareMatchups() throws IOException, InterruptedException {
+			// arrange
+			int[] cards = {
+					PackedCard.parse("2c"), PackedCard.parse("5d"), PackedCard.parse("9h"), PackedCard.parse("Jd"), PackedCard.parse("Ks"),
+					PackedCard.parse("2d"), PackedCard.parse("2h"), PackedCard.parse("9s"), PackedCard.parse("Jc"), PackedCard.parse("Kc") };
+
+			// act
+			HttpResponse<byte[]> response = postBinary("/compare", toBody(5, cards));
+
+			// assert
+			assertEquals(200, response.statusCode());
+			assertArrayEquals(new byte[] { -1 }, response.body());
+		}
+
+		@Test
+		void rejectOversizedBody() throws IOException {
+			// arrange: only the headers are sent, as the server must answer without reading the body
+			String request = "POST /evaluate HTTP/1.1\r\nHost: localhost\r\nContent-Type: application/octet-stream\r\n"
+					+ "Content-Length: " + (EvaluationServer.MAX_REQUEST_SIZE + 1) + "\r\n\r\n";
+
+			try(Socket socket = new Socket("localhost", server.getPort())) {
+				// act
+				socket.getOutputStream().write(request.getBytes(StandardCharsets.US_ASCII));
+				socket.getOutputStream().flush();
+				String statusLine = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII)).readLine();
+
+				// assert
+				assertTrue(statusLine.startsWith("HTTP/1.1 413"), statusLine);
+			}
+		}
+
+		@Test
+		void batchConcurrentRequests() throws InterruptedException {
+			// arrange
+			byte[] body = toBody(7, new int[] {
+					PackedCard.parse("Ah"), PackedCard.parse("Kh"), PackedCard.parse("Qh"), PackedCard.parse("Jh"),
+					PackedCard.parse("Th"), PackedCard.parse("2c"), PackedCard.parse("3d") });
+			List<CompletableFuture<HttpResponse<byte[]>>> responses = new ArrayList<CompletableFuture<HttpResponse<byte[]>>>();
+
+			// act
+			for(int i = 0; i < 200; i++) {
+				responses.add(client.sendAsync(binaryRequest("/evaluate", body), HttpResponse.BodyHandlers.ofByteArray()));
+			}
+
+			// assert
+			for(CompletableFuture<HttpResponse<byte[]>> response : responses) {
+				assertEquals(200, response.join().statusCode());
+				assertEquals(Rank.STRAIGHT_FLUSH, new FastEvaluator().getVariant().getRank(ByteBuffer.wrap(response.join().body()).getInt()));
+			}
+			assertEquals(200, server.getBatcher().getRequests());
+		}
+	}
+
+	/************************ Private methods *************************/
+
+	private HttpResponse<String> post(final String path, final String contentType, final String body) throws IOException, InterruptedException {
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+				.header("Content-Type", contentType)
+				.POST(HttpRequest.BodyPublishers.ofString(body))
+				.build();
+		return client.send(request, HttpResponse.BodyHandlers.ofString());
+	}
+
+	private HttpResponse<byte[]> postBinary(final String path, final byte[] body) throws IOException, InterruptedException {
+		return client.send(binaryRequest(path, body), HttpResponse.BodyHandlers.ofByteArray());
+	}
+
+	private HttpRequest binaryRequest(final String path, final byte[] body) {
+		return HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+				.header("Content-Type", "application/octet-stream")
+				.POST(HttpRequest.BodyPublishers.ofByteArray(body))
+				.build();
+	}
+
+	private static byte[] toBody(final int cardsPerHand, final int[] cards) {
+		byte[] body = new byte[cards.length + 1];
+		body[0] = (byte)cardsPerHand;
+		for(int i = 0; i < cards.length; i++) {
+			body[i + 1] = (byte)cards[i];
+		}
+		return body;
+	}
+}
@@ -0,0 +1,86 @@
+package poker.sim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static poker.test.helpers.CardHandTestUtils.pack;
+
+import org.junit.jupiter.api.Test;
+
+import poker.error.HandSizeError;
+import poker.model.Card;
+import poker.model.CardSuit;
+import poker.model.CardValue;
+
+public class SimulationRunnerTest {
+
+	private int[][] holes = {
+			pack(new Card(CardSuit.S, CardValue.A), new Card(CardSuit.H, CardValue.A)),
+			pack(new Card(CardSuit.C, CardValue.K), new Card(CardSuit.D, CardValue.K)),
+			pack(new Card(CardSuit.C, CardValue._7), new Card(CardSuit.C, CardValue._8)) };
+
+	@Test
+	void reproduceResultsWithAnyNumberOfThreads() throws HandSizeError, InterruptedException {
+		// act
+		SimulationResult singleThreaded = new SimulationRunner(1, 1000).simulate(holes, new int[0], 25_500, 33L);
+		SimulationResult multiThreaded = new SimulationRunner(4, 1000).simulate(holes, new int[0], 25_500, 33L);
+
+		// assert
+		assertEquals(26, multiThreaded.getNumberOfChunks());
+		assertEquals(33L, multiThreaded.getSeed());
+		for(int player = 0; player < holes.length; player++) {
+			assertEquals(singleThreaded.getWins(player), multiThreaded.getWins(player));
+			assertEquals(singleThreaded.getSplits(player), multiThreaded.getSplits(player));
+			assertEquals(Double.doubleToLongBits(singleThreaded.getEquity(player)), Double.doubleToLongBits(multiThreaded.getEquity(player)));
+		}
+	}
+
+	@Test
+	void varyResultsWithSeed() throws HandSizeError, InterruptedException {
+		// act
+		SimulationResult first = new SimulationRunner(2, 1000).simulate(holes, new int[0], 10_000, 1L);
+		SimulationResult second = new SimulationRunner(2, 1000).simulate(holes, new int[0], 10_000, 2L);
+
+		// assert
+		assertNotEquals(first.getWins(0), second.getWins(0));
+	}
+
+	@Test
+	void approximateKnownEquity() throws HandSizeError, InterruptedException {
+		// arrange
+		int[][] acesAgainstKings = { holes[0], holes[1] };
+
+		// act
+		SimulationResult result = new SimulationRunner(4).simulate(acesAgainstKings, new int[0], 200_000, 42L);
+
+		// assert: Aces win about 82 % against Kings
+		assertTrue(result.getEquity(0) > 0.81 && result.getEquity(0) < 0.83, result.toString());
+		assertEquals(1.0, result.getEquity(0) + result.getEquity(1), 1e-9);
+	}
+
+	@Test
+	void rejectCardsDealtTwice() {
+		// arrange
+		int[][] sharedAce = { holes[0], pack(new Card(CardSuit.S, CardValue.A), new Card(CardSuit.D, CardValue.K)) };
+		int[] boardWithHoleCard = pack(new Card(CardSuit.C, CardValue._7), new Card(CardSuit.H, CardValue._2), new Card(CardSuit.S, CardValue._3));
+		SimulationRunner runner = new SimulationRunner(1, 1000);
+
+		// act + assert
+		assertThrows(IllegalArgumentException.class, () -> runner.simulate(sharedAce, new int[0], 1000, 1L));
+		assertThrows(IllegalArgumentException.class, () -> runner.simulate(holes, boardWithHoleCard, 1000, 1L));
+	}
+
+	@Test
+	void rejectInvalidTrialsAndLayout() {
+		// arrange
+		SimulationRunner runner = new SimulationRunner(1, 1);
+
+		// act + assert
+		assertThrows(IllegalArgumentException.class, () -> runner.simulate(holes, new int[0], 0, 1L));
+		assertThrows(IllegalArgumentException.class, () -> runner.simulate(holes, new int[0], -5, 1L));
+		assertThrows(IllegalArgumentException.class, () -> runner.simulate(holes, new int[0], Integer.MAX_VALUE + 1L, 1L));
+		assertThrows(IllegalArgumentException.class, () -> new SimulationRunner(0, 1000));
+		assertThrows(IllegalArgumentException.class, () -> new SimulationRunner(1, 0));
+	}
+}
@@ -0,0 +1,99 @@
+package poker.stats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import poker.eval.FastEvaluator;
+import poker.eval.GameVariant;
+import poker.eval.HandStrength;
+import poker.eval.PackedCard;
+import poker.eval.StartingHands;
+import poker.model.Rank;
+import poker.store.OffHeapHandStore;
+import poker.store.ShowdownOutcome;
+
+public class RankAggregatorTest {
+
+	private static final int NUMBER_OF_HANDS = 5000;
+
+	@Test
+	void matchSequentialCounts() throws InterruptedException {
+		// arrange
+		Random random = new Random(32);
+		int[] deck = new int[PackedCard.DECK_SIZE];
+		for(int i = 0; i < deck.length; i++) {
+			deck[i] = i;
+		}
+
+		long[] expectedRanks = new long[Rank.values().length];
+		long[][] expectedOutcomes = new long[StartingHands.NUMBER_OF_STARTING_HANDS][ShowdownOutcome.values().length];
+
+		try(OffHeapHandStore store = new OffHeapHandStore(7, 128, new FastEvaluator())) {
+			for(int hand = 0; hand < NUMBER_OF_HANDS; hand++) {
+				for(int i = 0; i < 7; i++) {
+					int j = i + random.nextInt(deck.length - i);
+					int swap = deck[i];
+					deck[i] = deck[j];
+					deck[j] = swap;
+				}
+				ShowdownOutcome outcome = ShowdownOutcome.values()[random.nextInt(ShowdownOutcome.values().length)];
+				long index = store.append(deck, 0, outcome);
+
+				expectedRanks[HandStrength.getRank(store.getStrength(index)).ordinal()]++;
+				expectedOutcomes[StartingHands.indexOf(deck[0], deck[1])][outcome.ordinal()]++;
+			}
+
+			// act
+			RankStatistics statistics = new RankAggregator(3).aggregate(store);
+
+			// assert
+			assertEquals(NUMBER_OF_HANDS, statistics.getHands());
+			for(Rank rank : Rank.values()) {
+				assertEquals(expectedRanks[rank.ordinal()], statistics.getCount(rank));
+			}
+			for(int startingHand = 0; startingHand < StartingHands.NUMBER_OF_STARTING_HANDS; startingHand++) {
+				long[] outcomes = expectedOutcomes[startingHand];
+				for(ShowdownOutcome outcome : ShowdownOutcome.values()) {
+					assertEquals(outcomes[outcome.ordinal()], statistics.getCount(startingHand, outcome));
+				}
+				double winRate = (outcomes[ShowdownOutcome.WON.ordinal()] + outcomes[ShowdownOutcome.SPLIT.ordinal()] / 2.0)
+						/ (outcomes[ShowdownOutcome.WON.ordinal()] + outcomes[ShowdownOutcome.SPLIT.ordinal()] + outcomes[ShowdownOutcome.LOST.ordinal()]);
+				assertEquals(winRate, statistics.getWinRate(startingHand), 1e-12);
+			}
+		}
+	}
+
+	@Test
+	void decodeStrengthsOfStoreVariant() throws InterruptedException {
+		// arrange
+		Random random = new Random(32);
+		GameVariant variant = GameVariant.SHORT_DECK;
+		int[] deck = variant.getDeck();
+		long[] expectedRanks = new long[Rank.values().length];
+
+		try(OffHeapHandStore store = new OffHeapHandStore(7, 128, new FastEvaluator(variant))) {
+			for(int hand = 0; hand < NUMBER_OF_HANDS; hand++) {
+				for(int i = 0; i < 7; i++) {
+					int j = i + random.nextInt(deck.length - i);
+					int swap = deck[i];
+					deck[i] = deck[j];
+					deck[j] = swap;
+				}
+				long index = store.append(deck, 0);
+				expectedRanks[variant.getRank(store.getStrength(index)).ordinal()]++;
+			}
+
+			// act
+			RankStatistics statistics = new RankAggregator(3).aggregate(store);
+
+			// assert: a flush outranks a full house in short deck, so the standard positions would mix them up
+			assertEquals(variant, store.getVariant());
+			for(Rank rank : Rank.values()) {
+				assertEquals(expectedRanks[rank.ordinal()], statistics.getCount(rank));
+			}
+		}
+	}
+}
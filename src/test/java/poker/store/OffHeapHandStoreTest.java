@@ -0,0 +1,88 @@
+package poker.store;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static poker.test.helpers.CardHandTestUtils.dealHands;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import poker.eval.FastEvaluator;
+import poker.eval.PackedCard;
+
+public class OffHeapHandStoreTest {
+
+	private static final int NUMBER_OF_HANDS = 1000;
+
+	private FastEvaluator evaluator = new FastEvaluator();
+
+	@Test
+	void appendAndReadHandsAcrossChunks() {
+		// arrange
+		int[] cards = dealHands(new Random(31), NUMBER_OF_HANDS, 7);
+
+		try(OffHeapHandStore store = new OffHeapHandStore(7, 64, evaluator)) {
+			// act
+			store.appendAll(cards, 0, NUMBER_OF_HANDS);
+
+			// assert
+			assertEquals(NUMBER_OF_HANDS, store.size());
+			assertEquals(16, store.getNumberOfChunks());
+			assertEquals(NUMBER_OF_HANDS % 64, store.getChunkSize(15));
+
+			int[] hand = new int[7];
+			for(int i = 0; i < NUMBER_OF_HANDS; i++) {
+				store.getCards(i, hand, 0);
+				assertArrayEquals(Arrays.copyOfRange(cards, i * 7, i * 7 + 7), hand);
+				assertEquals(PackedCard.toMask(cards, i * 7, 7), store.getCardMask(i));
+				assertEquals(evaluator.evaluate(cards, i * 7, 7), store.getStrength(i));
+			}
+		}
+	}
+
+	@Test
+	void scanRangeInOrder() {
+		// arrange
+		int[] cards = dealHands(new Random(32), NUMBER_OF_HANDS, 7);
+		long[] nextIndex = { 100L };
+
+		try(OffHeapHandStore store = new OffHeapHandStore(7, 64, evaluator)) {
+			store.appendAll(cards, 0, NUMBER_OF_HANDS);
+
+			// act + assert
+			store.scan(100L, 900L, (index, mask, strength) -> {
+				assertEquals(nextIndex[0]++, index);
+				assertEquals(PackedCard.toMask(cards, (int)index * 7, 7), mask);
+				assertEquals(evaluator.evaluate(mask), strength);
+			});
+			assertEquals(900L, nextIndex[0]);
+		}
+	}
+
+	@Test
+	void rejectIndexesOutsideOfStore() {
+		try(OffHeapHandStore store = new OffHeapHandStore(7, 64, evaluator)) {
+			// arrange: the first chunk holds room for 64 hands, but only ten are appended
+			store.appendAll(dealHands(new Random(33), 10, 7), 0, 10);
+
+			// act + assert
+			assertThrows(IndexOutOfBoundsException.class, () -> store.getStrength(10));
+			assertThrows(IndexOutOfBoundsException.class, () -> store.getCardMask(-1));
+			assertThrows(IndexOutOfBoundsException.class, () -> store.getOutcome(63));
+			assertThrows(IndexOutOfBoundsException.class, () -> store.getCards(10, new int[7], 0));
+			assertThrows(IndexOutOfBoundsException.class, () -> store.scan(5, 4, (index, mask, strength) -> {}));
+			assertThrows(IndexOutOfBoundsException.class, () -> store.scan(0, 11, (index, mask, strength) -> {}));
+		}
+	}
+
+	@Test
+	void rejectInvalidLayout() {
+		assertThrows(IllegalArgumentException.class, () -> new OffHeapHandStore(4));
+		assertThrows(IllegalArgumentException.class, () -> new OffHeapHandStore(8));
+		assertThrows(IllegalArgumentException.class, () -> new OffHeapHandStore(7, 0, evaluator));
+		assertThrows(IllegalArgumentException.class, () -> new OffHeapHandStore(7, Integer.MAX_VALUE / 2, evaluator));
+	}
+}
@@ -0,0 +1,210 @@
+package poker.test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static poker.test.helpers.CardHandTestUtils.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.sun.management.ThreadMXBean;
+
+import poker.eval.FastEvaluator;
+import poker.eval.GameVariant;
+import poker.eval.OutCounter;
+import poker.eval.Outs;
+import poker.eval.PackedCard;
+import poker.game.HiLoShowdown;
+import poker.game.Ranker;
+import poker.model.Card;
+import poker.model.CardHand;
+import poker.model.CardSuit;
+import poker.model.CardValue;
+import poker.sim.Deck;
+
+/**
+ * Guards the allocation budgets of the hot paths: each test runs a hot path until it is compiled, then measures the
+ * bytes the current thread allocates per call and fails if they exceed the declared budget.
+ *
+ */
+public class AllocationBudgetTest {
+
+	private static final int WARM_UP_CALLS = 50_000;
+	private static final int MEASURED_CALLS = 100_000;
+
+	/** Bytes a measurement may allocate in total beyond its budget, e. g. for a lazily initialised JDK class */
+	private static final long SLACK_BYTES = 4096;
+
+	// the declared budgets in bytes per call
+	private static final long FAST_EVALUATION_BUDGET = 0;
+	private static final long HAND_QUERY_BUDGET = 0;
+	private static final long HAND_COMPARISON_BUDGET = 0;
+	// a hand allocates its TreeSet and its nodes, about 480 bytes with compressed references
+	private static final long HAND_CONSTRUCTION_BUDGET = 512;
+	private static final long SHOWDOWN_BUDGET = 0;
+	private static final long OUT_COUNTING_BUDGET = 0;
+	private static final long DEALING_BUDGET = 0;
+
+	private static ThreadMXBean threads;
+
+	@BeforeAll
+	static void enableAllocationMeasurement() {
+		assumeTrue(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean, "no allocation measurement in this JVM");
+		threads = (ThreadMXBean)ManagementFactory.getThreadMXBean();
+		assumeTrue(threads.isThreadAllocatedMemorySupported(), "no allocation measurement in this JVM");
+		threads.setThreadAllocatedMemoryEnabled(true);
+	}
+
+	@Nested
+	@DisplayName("Evaluation and comparison")
+	class EvaluationTests {
+
+		@Test
+		void evaluateCardMasks() throws Exception {
+			// arrange
+			FastEvaluator evaluator = new FastEvaluator();
+			long[] hands = randomHands(GameVariant.STANDARD, 1024, 7, 7, new SplittableRandom(7));
+			int[] sink = new int[1];
+
+			// act + assert
+			assertWithinBudget("FastEvaluator.evaluate", FAST_EVALUATION_BUDGET, call -> {
+				sink[0] += evaluator.evaluate(hands[call & 1023]);
+			});
+		}
+
+		@Test
+		void queryCardHands() throws Exception {
+			// arrange
+			CardHand[] hands = { getFullHouse(), getTwoPairs(), getPair(), getHighCardHand() };
+			int[] kickers = new int[5];
+			int[] sink = new int[1];
+
+			// act + assert
+			assertWithinBudget("CardHand queries", HAND_QUERY_BUDGET, call -> {
+				CardHand hand = hands[call & 3];
+				sink[0] += hand.findHighestPairValue() + hand.findLowestPairValue() + hand.findThreesValue()
+						+ hand.findHighestSingleCardValue() + hand.findKickerValues(kickers) + hand.getRank().ordinal();
+			});
+		}
+
+		@Test
+		void compareCardHands() throws Exception {
+			// arrange
+			Ranker ranker = new Ranker();
+			CardHand[] hands = { getFullHouse(), getTwoPairs(), getPair(), getHighCardHand(), getFlush(), getThreeOfAKind() };
+			int[] sink = new int[1];
+
+			// act + assert
+			assertWithinBudget("Ranker.compareHands", HAND_COMPARISON_BUDGET, call -> {
+				sink[0] += ranker.compareHands(hands[call % 6], hands[(call + 1) % 6]);
+			});
+		}
+
+		@Test
+		void constructCardHands() throws Exception {
+			// arrange
+			List<Card> cards = Arrays.asList(
+					new Card(CardSuit.D, CardValue._3),
+					new Card(CardSuit.D, CardValue._8),
+					new Card(CardSuit.C, CardValue._3),
+					new Card(CardSuit.H, CardValue._3),
+					new Card(CardSuit.S, CardValue._8));
+			int[] sink = new int[1];
+
+			// act + assert: the TreeSet of a hand allocates, but evaluating it must not add to that
+			assertWithinBudget("new CardHand", HAND_CONSTRUCTION_BUDGET, call -> {
+				sink[0] += new CardHand(cards).getRank().ordinal();
+			});
+		}
+	}
+
+	@Nested
+	@DisplayName("Showdowns, outs and dealing")
+	class GameTests {
+
+		@Test
+		void settleHiLoShowdowns() throws Exception {
+			// arrange
+			HiLoShowdown showdown = new HiLoShowdown();
+			int[] board = { PackedCard.parse("Ah"), PackedCard.parse("2d"), PackedCard.parse("5c"), PackedCard.parse("9s"), PackedCard.parse("Kd") };
+			int[][] holes = {
+					{ PackedCard.parse("3h"), PackedCard.parse("4h"), PackedCard.parse("Qs"), PackedCard.parse("Jd") },
+					{ PackedCard.parse("Ac"), PackedCard.parse("Kc"), PackedCard.parse("8h"), PackedCard.parse("7h") },
+					{ PackedCard.parse("9d"), PackedCard.parse("9c"), PackedCard.parse("3s"), PackedCard.parse("2c") } };
+			long[] payouts = new long[holes.length];
+
+			// act + assert
+			assertWithinBudget("HiLoShowdown.settleOmaha", SHOWDOWN_BUDGET, call -> {
+				showdown.settleOmaha(board, holes, 100L, payouts);
+			});
+		}
+
+		@Test
+		void countOuts() throws Exception {
+			// arrange
+			OutCounter counter = new OutCounter();
+			Outs outs = new Outs();
+			int[] hole = { PackedCard.parse("Ah"), PackedCard.parse("Kh") };
+			int[] board = { PackedCard.parse("2h"), PackedCard.parse("7h"), PackedCard.parse("Qc") };
+
+			// act + assert
+			assertWithinBudget("OutCounter.countOuts", OUT_COUNTING_BUDGET, call -> {
+				counter.countOuts(hole, board, outs);
+			});
+		}
+
+		@Test
+		void dealCards() throws Exception {
+			// arrange
+			Deck deck = new Deck();
+			SplittableRandom random = new SplittableRandom(37L);
+			long known = PackedCard.toMask(PackedCard.parse("Ah")) | PackedCard.toMask(PackedCard.parse("Kh"));
+			int[] sink = new int[1];
+
+			// act + assert
+			assertWithinBudget("Deck dealing", DEALING_BUDGET, call -> {
+				if((call & 63) == 0) {
+					deck.reset(known);
+				}
+				for(int i = 0; i < 5; i++) {
+					sink[0] += deck.deal(random);
+				}
+				deck.collect();
+			});
+		}
+	}
+
+	/************************ Private methods *************************/
+
+	private static void assertWithinBudget(final String hotPath, final long budgetPerCall, final HotPath path) throws Exception {
+
+		for(int call = 0; call < WARM_UP_CALLS; call++) {
+			path.run(call);
+		}
+
+		long threadId = Thread.currentThread().getId();
+		long before = threads.getThreadAllocatedBytes(threadId);
+		for(int call = 0; call < MEASURED_CALLS; call++) {
+			path.run(call);
+		}
+		long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+		long budget = budgetPerCall * MEASURED_CALLS + SLACK_BYTES;
+		assertTrue(allocated <= budget, hotPath + " allocated " + (double)allocated / MEASURED_CALLS
+				+ " bytes per call, but its budget is " + budgetPerCall + " bytes per call");
+	}
+
+	/************************ Private classes *************************/
+
+	@FunctionalInterface
+	private interface HotPath {
+		void run(int call) throws Exception;
+	}
+}
@@ -1,5 +1,11 @@
 package poker.test.helpers;
 
+import java.util.Arrays;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+import poker.eval.GameVariant;
+import poker.eval.PackedCard;
 import poker.model.Card;
 import poker.model.CardHand;
 import poker.model.CardSuit;
@@ -87,4 +93,54 @@ public class CardHandTestUtils {
 				new Card(CardSuit.S, CardValue._2),
 				new Card(CardSuit.H, CardValue._4));
 	}
+
+	public static int[] pack(Card... cards) {
+		return PackedCard.pack(Arrays.asList(cards));
+	}
+
+	/**
+	 * @return the given number of different packed cards, drawn at random from a full deck
+	 */
+	public static int[] dealCards(Random random, int numberOfCards) {
+		int[] deck = new int[PackedCard.DECK_SIZE];
+		for(int i = 0; i < deck.length; i++) {
+			deck[i] = i;
+		}
+		for(int i = 0; i < numberOfCards; i++) {
+			int j = i + random.nextInt(deck.length - i);
+			int swap = deck[i];
+			deck[i] = deck[j];
+			deck[j] = swap;
+		}
+		int[] cards = new int[numberOfCards];
+		System.arraycopy(deck, 0, cards, 0, numberOfCards);
+		return cards;
+	}
+
+	/**
+	 * @return the packed cards of the given number of hands, one after the other; the cards within a hand are
+	 * different, but hands may share cards
+	 */
+	public static int[] dealHands(Random random, int numberOfHands, int cardsPerHand) {
+		int[] cards = new int[numberOfHands * cardsPerHand];
+		for(int hand = 0; hand < numberOfHands; hand++) {
+			System.arraycopy(dealCards(random, cardsPerHand), 0, cards, hand * cardsPerHand, cardsPerHand);
+		}
+		return cards;
+	}
+
+	/**
+	 * @return card masks of random hands from the variant's deck, holding minCards to maxCards cards in turn
+	 */
+	public static long[] randomHands(GameVariant variant, int count, int minCards, int maxCards, SplittableRandom random) {
+		int[] deck = variant.getDeck();
+		long[] hands = new long[count];
+		for(int hand = 0; hand < count; hand++) {
+			int size = minCards + hand % (maxCards - minCards + 1);
+			while(Long.bitCount(hands[hand]) < size) {
+				hands[hand] |= PackedCard.toMask(deck[random.nextInt(deck.length)]);
+			}
+		}
+		return hands;
+	}
 }
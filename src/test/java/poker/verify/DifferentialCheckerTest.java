@@ -0,0 +1,173 @@
+package poker.verify;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import poker.eval.BatchEvaluator;
+import poker.eval.FastEvaluator;
+import poker.eval.GameVariant;
+import poker.eval.PackedCard;
+
+public class DifferentialCheckerTest {
+
+	private static final int ACE_OF_SPADES = PackedCard.parse("As");
+
+	@Nested
+	@DisplayName("Available engines")
+	class AvailableEngineTests {
+
+		@Test
+		void agreeOnAllFiveCardHands() throws Exception {
+			// act
+			Divergence divergence = new DifferentialChecker(2).checkAllFiveCardHands();
+
+			// assert
+			assertNull(divergence, () -> divergence.toString());
+		}
+
+		@Test
+		void agreeOnSampledMatchupsAndSevenCardHands() throws Exception {
+			// arrange
+			DifferentialChecker checker = new DifferentialChecker(2, 1 << 12);
+
+			// act
+			Divergence matchups = checker.checkMatchups(100_000, 40L);
+			Divergence sevenCardHands = checker.checkSevenCardHands(50_000, 40L);
+
+			// assert
+			assertNull(matchups, () -> matchups.toString());
+			assertNull(sevenCardHands, () -> sevenCardHands.toString());
+		}
+
+		@Test
+		void rejectInvalidHands() {
+			// arrange
+			DifferentialChecker checker = new DifferentialChecker(1);
+
+			// act + assert
+			assertThrows(IllegalArgumentException.class, () -> checker.check(cards("As Ks Qs Js")));
+			assertThrows(IllegalArgumentException.class, () -> checker.check(cards("As Ks Qs Js Ts"), cards("As 2c 3c 4c 5c")));
+		}
+	}
+
+	@Nested
+	@DisplayName("Broken engines")
+	class BrokenEngineTests {
+
+		@Test
+		void reportFirstDivergingFiveCardHand() throws Exception {
+			// arrange: the engine lowers the Rank of every hand holding the Ace of spades
+			DifferentialChecker checker = new DifferentialChecker(3, 1 << 12, () -> withBrokenEngine(new RankLoweringEngine()));
+
+			// act
+			Divergence divergence = checker.checkAllFiveCardHands();
+
+			// assert: the first hand in the order of the packed cards, no matter which thread found it
+			assertNotNull(divergence);
+			assertEquals("rank", divergence.getCheck());
+			assertEquals("broken", divergence.getEngine());
+			assertArrayEquals(new int[][] { cards("2c 2d 2h 2s As") }, divergence.getHands());
+			assertEquals("FOUR_OF_A_KIND", divergence.getExpected());
+			assertTrue(divergence.getReproduction().endsWith("--check \"2c 2d 2h 2s As\""));
+		}
+
+		@Test
+		void reduceDivergingSevenCardHand() throws Exception {
+			// arrange
+			DifferentialChecker checker = new DifferentialChecker(1, 1 << 12, () -> withBrokenEngine(new RankLoweringEngine()));
+
+			// act
+			Divergence divergence = checker.check(cards("2c 2d 9h Jd Qc Ks As"));
+
+			// assert: only five card hands with the Ace of spades and the pair still diverge
+			int[] reduced = divergence.getHands()[0];
+			long needed = PackedCard.toMask(cards("2c 2d As"), 0, 3);
+			assertEquals(5, reduced.length);
+			assertEquals(needed, PackedCard.toMask(reduced, 0, 5) & needed);
+			assertEquals("PAIR", divergence.getExpected());
+		}
+
+		@Test
+		void reportContradictedWinner() throws Exception {
+			// arrange: the engine inverts the kickers, so only the order of hands of the same Rank changes
+			Map<String, BatchEvaluator> engines = new LinkedHashMap<String, BatchEvaluator>();
+			engines.put("broken", new KickerInvertingEngine());
+			DifferentialChecker checker = new DifferentialChecker(1, 1 << 12, () -> engines);
+
+			// act
+			Divergence divergence = checker.checkMatchups(20_000, 40L);
+
+			// assert
+			assertNotNull(divergence);
+			assertEquals("order", divergence.getCheck());
+			assertEquals(2, divergence.getHands().length);
+		}
+	}
+
+	/************************ Private methods *************************/
+
+	private static int[] cards(final String notation) {
+		String[] symbols = notation.split(" ");
+		int[] cards = new int[symbols.length];
+		for(int i = 0; i < symbols.length; i++) {
+			cards[i] = PackedCard.parse(symbols[i]);
+		}
+		return cards;
+	}
+
+	private static Map<String, BatchEvaluator> withBrokenEngine(final BatchEvaluator engine) {
+		Map<String, BatchEvaluator> engines = DifferentialChecker.createEngines();
+		engines.put("broken", engine);
+		return engines;
+	}
+
+	/************************ Private classes *************************/
+
+	private static final class RankLoweringEngine implements BatchEvaluator {
+
+		private final FastEvaluator evaluator = new FastEvaluator();
+
+		@Override
+		public void evaluateAll(final long[] cards, final int[] strengths, final int hands) {
+			for(int hand = 0; hand < hands; hand++) {
+				strengths[hand] = evaluator.evaluate(cards[hand]);
+				if((cards[hand] & PackedCard.toMask(ACE_OF_SPADES)) != 0L && strengths[hand] >= 1 << 26) {
+					strengths[hand] -= 1 << 26;
+				}
+			}
+		}
+
+		@Override
+		public GameVariant getVariant() {
+			return GameVariant.STANDARD;
+		}
+	}
+
+	private static final class KickerInvertingEngine implements BatchEvaluator {
+
+		private final FastEvaluator evaluator = new FastEvaluator();
+
+		@Override
+		public void evaluateAll(final long[] cards, final int[] strengths, final int hands) {
+			for(int hand = 0; hand < hands; hand++) {
+				strengths[hand] = evaluator.evaluate(cards[hand]) ^ PackedCard.VALUE_BITS;
+			}
+		}
+
+		@Override
+		public GameVariant getVariant() {
+			return GameVariant.STANDARD;
+		}
+	}
+}